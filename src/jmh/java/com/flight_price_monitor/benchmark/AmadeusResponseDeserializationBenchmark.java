@@ -0,0 +1,68 @@
+package com.flight_price_monitor.benchmark;
+
+import com.flight_price_monitor.infrastructure.amadeus.dto.AmadeusFlightOffersResponse;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AmadeusResponseDeserializationBenchmark {
+
+    private static final String OFFER = """
+            {
+              "type": "flight-offer",
+              "id": "%d",
+              "source": "GDS",
+              "instantTicketingRequired": false,
+              "numberOfBookableSeats": 9,
+              "itineraries": [
+                {
+                  "duration": "PT2H35M",
+                  "segments": [
+                    {
+                      "departure": { "iataCode": "KRK", "at": "2026-12-01T06:15:00" },
+                      "arrival": { "iataCode": "BCN", "at": "2026-12-01T08:50:00" },
+                      "carrierCode": "FR",
+                      "number": "%d",
+                      "numberOfStops": 0
+                    }
+                  ]
+                }
+              ],
+              "price": {
+                "currency": "EUR",
+                "total": "%d.99",
+                "base": "%d.00",
+                "grandTotal": "%d.99"
+              }
+            }""";
+
+    @Param({"1", "50", "250"})
+    int offers;
+
+    JsonMapper jsonMapper;
+    byte[] payload;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        String data = IntStream.range(0, offers)
+                .mapToObj(i -> OFFER.formatted(i, 1_000 + i, 100 + i, 90 + i, 100 + i))
+                .collect(Collectors.joining(",", "{\"meta\": {\"count\": " + offers + "}, \"data\": [", "]}"));
+        payload = data.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public AmadeusFlightOffersResponse deserialize() {
+        return jsonMapper.readValue(payload, AmadeusFlightOffersResponse.class);
+    }
+}
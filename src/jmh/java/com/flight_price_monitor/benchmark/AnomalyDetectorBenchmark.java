@@ -0,0 +1,45 @@
+package com.flight_price_monitor.benchmark;
+
+import com.flight_price_monitor.domain.model.AnomalyDetector;
+import com.flight_price_monitor.domain.model.PriceStatistics;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnomalyDetectorBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    int samples;
+
+    List<BigDecimal> prices;
+    BigDecimal currentPrice;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        prices = IntStream.range(0, samples)
+                .mapToObj(i -> BigDecimal.valueOf(5_000 + random.nextInt(95_000), 2))
+                .toList();
+        currentPrice = new BigDecimal("199.99");
+    }
+
+    @Benchmark
+    public PriceStatistics buildStatistics() {
+        return AnomalyDetector.buildStatistics(prices, currentPrice);
+    }
+
+    @Benchmark
+    public BigDecimal calculateMedian() {
+        return AnomalyDetector.calculateMedian(prices);
+    }
+}
@@ -0,0 +1,102 @@
+package com.flight_price_monitor.benchmark;
+
+import com.flight_price_monitor.domain.model.PriceSnapshot;
+import com.flight_price_monitor.persistence.repository.PriceSnapshotBatchRepository;
+import com.flight_price_monitor.persistence.repository.RoutePriceStatsRepository;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Ingest of one snapshot per route into PostgreSQL. Needs {@code BENCHMARK_DB_URL} (plus optional
+ * {@code BENCHMARK_DB_USER} and {@code BENCHMARK_DB_PASSWORD}); all tables live in a dedicated schema that is dropped
+ * afterwards, so the rest of the database is never touched.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@OperationsPerInvocation(PriceSnapshotIngestBenchmark.ROUTES)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PriceSnapshotIngestBenchmark {
+    static final int ROUTES = 10_000;
+    private static final int BATCH_SIZE = 500;
+    private static final String SCHEMA = "fpm_ingest_benchmark";
+
+    JdbcTemplate jdbcTemplate;
+    PriceSnapshotBatchRepository batchRepository;
+    RoutePriceStatsRepository statsRepository;
+    List<UUID> routeIds;
+    List<PriceSnapshot> snapshots;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = System.getenv("BENCHMARK_DB_URL");
+        if (url == null || url.isBlank())
+            throw new IllegalStateException("BENCHMARK_DB_URL must point to a PostgreSQL database");
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true&currentSchema=" + SCHEMA,
+                System.getenv().getOrDefault("BENCHMARK_DB_USER", "postgres"),
+                System.getenv().getOrDefault("BENCHMARK_DB_PASSWORD", "postgres"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        Flyway.configure().dataSource(dataSource).schemas(SCHEMA).createSchemas(true).load().migrate();
+
+        batchRepository = new PriceSnapshotBatchRepository(jdbcTemplate);
+        statsRepository = new RoutePriceStatsRepository(jdbcTemplate, new NamedParameterJdbcTemplate(dataSource));
+
+        routeIds = IntStream.range(0, ROUTES).mapToObj(i -> UUID.randomUUID()).toList();
+        LocalDate firstDeparture = LocalDate.now().plusMonths(1);
+        jdbcTemplate.batchUpdate("INSERT INTO route (id, origin, destination, departure_date) VALUES (?, 'KRK', 'BCN', ?)",
+                IntStream.range(0, ROUTES).boxed().toList(), BATCH_SIZE, (ps, i) -> {
+                    ps.setObject(1, routeIds.get(i));
+                    ps.setObject(2, firstDeparture.plusDays(i));
+                });
+    }
+
+    @Setup(Level.Iteration)
+    public void clearSnapshots() {
+        jdbcTemplate.execute("TRUNCATE price_snapshot, route_price_stats");
+        snapshots = routeIds.stream().map(routeId -> new PriceSnapshot(UUID.randomUUID(), routeId,
+                new BigDecimal("199.99"), "EUR", OffsetDateTime.now(), false)).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void dropSchema() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @Benchmark
+    public void rowAtATimeIngest() {
+        for (PriceSnapshot snapshot : snapshots) {
+            jdbcTemplate.update("""
+                    INSERT INTO price_snapshot (id, route_id, price, currency, retrieved_at, is_anomaly)
+                    VALUES (?, ?, ?, ?, ?, ?)
+                    """, snapshot.id(), snapshot.routeId(), snapshot.price(), snapshot.currency(),
+                    snapshot.retrievedAt(), snapshot.isAnomaly());
+            jdbcTemplate.queryForList("SELECT price FROM price_snapshot WHERE route_id = ?", BigDecimal.class,
+                    snapshot.routeId());
+        }
+    }
+
+    @Benchmark
+    public void batchedIngest() {
+        for (int from = 0; from < snapshots.size(); from += BATCH_SIZE) {
+            List<PriceSnapshot> batch = snapshots.subList(from, Math.min(from + BATCH_SIZE, snapshots.size()));
+            batchRepository.insertAll(batch);
+            statsRepository.addAll(batch);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.flight_price_monitor.benchmark;
+
+import com.flight_price_monitor.api.dto.PriceSnapshotResponse;
+import com.flight_price_monitor.persistence.entity.PriceSnapshotEntity;
+import com.flight_price_monitor.persistence.mapper.PriceSnapshotMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriceSnapshotMapperBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int snapshots;
+
+    PriceSnapshotMapper mapper;
+    List<PriceSnapshotEntity> entities;
+
+    @Setup
+    public void setUp() {
+        mapper = new PriceSnapshotMapper();
+        OffsetDateTime now = OffsetDateTime.now();
+        entities = IntStream.range(0, snapshots)
+                .mapToObj(i -> PriceSnapshotEntity.builder()
+                        .id(UUID.randomUUID())
+                        .price(BigDecimal.valueOf(10_000 + i % 50_000, 2))
+                        .currency("EUR")
+                        .retrievedAt(now.minusHours(6L * i))
+                        .isAnomaly(i % 50 == 0)
+                        .build())
+                .toList();
+    }
+
+    @Benchmark
+    public List<PriceSnapshotResponse> toResponse() {
+        return entities.stream().map(mapper::toResponse).toList();
+    }
+}
@@ -1,26 +1,103 @@
 package com.flight_price_monitor.api.controller;
 
 import com.flight_price_monitor.api.dto.DealResponse;
-import com.flight_price_monitor.application.AnomalyDetectionService;
+import com.flight_price_monitor.application.DealStream;
+import com.flight_price_monitor.application.DealsRegistry;
+import com.flight_price_monitor.config.DealStreamProperties;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/deals")
 public class DealController {
-    private final AnomalyDetectionService anomalyDetectionService;
+    // Streams stay open until the client leaves, the servlet async timeout applies to other async requests only.
+    private static final long NO_TIMEOUT = 0L;
 
-    public DealController(AnomalyDetectionService anomalyDetectionService) {
-        this.anomalyDetectionService = anomalyDetectionService;
+    private final DealsRegistry dealsRegistry;
+    private final DealStream dealStream;
+    private final DealStreamProperties streamProperties;
+    private final Scheduler dealStreamScheduler;
+
+    public DealController(DealsRegistry dealsRegistry, DealStream dealStream, DealStreamProperties streamProperties,
+                          Scheduler dealStreamScheduler) {
+        this.dealsRegistry = dealsRegistry;
+        this.dealStream = dealStream;
+        this.streamProperties = streamProperties;
+        this.dealStreamScheduler = dealStreamScheduler;
     }
 
     @GetMapping
     public ResponseEntity<List<DealResponse>> getDeals() {
-        var deals = anomalyDetectionService.getCurrentDeals();
+        var deals = dealsRegistry.getDeals();
         return ResponseEntity.ok(deals);
     }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDeals(@RequestParam(required = false) String origin,
+                                  @RequestParam(required = false) String destination) {
+        SseEmitter emitter = new SseEmitter(NO_TIMEOUT);
+        Flux<SseEmitter.SseEventBuilder> deals = dealStream.subscribe(origin, destination)
+                .map(deal -> SseEmitter.event().name("deal").data(deal));
+        Flux<SseEmitter.SseEventBuilder> heartbeats = heartbeats()
+                .map(tick -> SseEmitter.event().comment("heartbeat"));
+        connect(emitter, Flux.merge(deals, heartbeats), emitter::send);
+        return emitter;
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseBodyEmitter streamDealsAsNdjson(@RequestParam(required = false) String origin,
+                                                   @RequestParam(required = false) String destination) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(NO_TIMEOUT) {
+            @Override
+            protected void extendResponse(ServerHttpResponse outputMessage) {
+                outputMessage.getHeaders().setContentType(MediaType.APPLICATION_NDJSON);
+            }
+        };
+        Flux<Object> deals = dealStream.subscribe(origin, destination).cast(Object.class);
+        Flux<Object> heartbeats = heartbeats().map(tick -> "");
+        connect(emitter, Flux.merge(deals, heartbeats), line -> {
+            if (line instanceof DealResponse deal) emitter.send(deal, MediaType.APPLICATION_JSON);
+            emitter.send("\n", MediaType.TEXT_PLAIN);
+        });
+        return emitter;
+    }
+
+    private Flux<Long> heartbeats() {
+        return Flux.interval(streamProperties.heartbeatInterval());
+    }
+
+    // Sends happen on the stream's own thread one item at a time, so a slow client backs up into its DealStream buffer.
+    private <T> void connect(ResponseBodyEmitter emitter, Flux<T> items, Sender<T> sender) {
+        Disposable subscription = items
+                .publishOn(dealStreamScheduler, 1)
+                .subscribe(item -> {
+                    try {
+                        sender.send(item);
+                    } catch (IOException e) {
+                        throw Exceptions.propagate(e);
+                    }
+                }, emitter::completeWithError, emitter::complete);
+        emitter.onCompletion(subscription::dispose);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(error -> subscription.dispose());
+    }
+
+    @FunctionalInterface
+    private interface Sender<T> {
+        void send(T item) throws IOException;
+    }
 }
@@ -0,0 +1,41 @@
+package com.flight_price_monitor.api.controller;
+
+import com.flight_price_monitor.application.PriceExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/exports")
+public class ExportController {
+    private final PriceExportService priceExportService;
+
+    public ExportController(PriceExportService priceExportService) {
+        this.priceExportService = priceExportService;
+    }
+
+    // Raw snapshots only, which covers the last rollup.raw-retention; older days live in the daily rollups.
+    @GetMapping("/raw-prices")
+    public ResponseEntity<StreamingResponseBody> exportRawPrices(@RequestParam(required = false) UUID routeId) {
+        StreamingResponseBody body;
+        if (routeId != null) {
+            priceExportService.requireRoute(routeId);
+            body = out -> priceExportService.exportRoute(routeId, out);
+        } else {
+            body = priceExportService::exportActiveRoutes;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("raw-prices.fpx").build().toString())
+                .body(body);
+    }
+}
@@ -1,9 +1,12 @@
 package com.flight_price_monitor.api.controller;
 
 import java.net.URI;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,14 +14,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.flight_price_monitor.api.dto.CreateRouteRequest;
-import com.flight_price_monitor.api.dto.PriceSnapshotResponse;
+import com.flight_price_monitor.api.dto.DailyPriceResponse;
 import com.flight_price_monitor.api.dto.RouteResponse;
 import com.flight_price_monitor.api.dto.RouteStatisticsResponse;
 import com.flight_price_monitor.application.AnomalyDetectionService;
+import com.flight_price_monitor.application.PriceHistoryService;
 import com.flight_price_monitor.application.RouteService;
 
 import jakarta.validation.Valid;
@@ -28,10 +34,13 @@ import jakarta.validation.Valid;
 public class RouteController {
     private final RouteService routeService;
     private final AnomalyDetectionService anomalyDetectionService;
+    private final PriceHistoryService priceHistoryService;
 
-    public RouteController(RouteService routeService, AnomalyDetectionService anomalyDetectionService) {
+    public RouteController(RouteService routeService, AnomalyDetectionService anomalyDetectionService,
+                           PriceHistoryService priceHistoryService) {
         this.routeService = routeService;
         this.anomalyDetectionService = anomalyDetectionService;
+        this.priceHistoryService = priceHistoryService;
     }
 
     @PostMapping
@@ -60,8 +69,21 @@ public class RouteController {
     }
 
     @GetMapping("/{id}/prices")
-    public ResponseEntity<List<PriceSnapshotResponse>> getPriceHistory(@PathVariable UUID id) {
-        var prices = anomalyDetectionService.getSnapshotsForRoute(id);
+    public ResponseEntity<StreamingResponseBody> getPriceHistory(
+            @PathVariable UUID id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime since,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime until,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        var query = priceHistoryService.prepareQuery(id, since, until, limit, cursor);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> priceHistoryService.writePage(query, out));
+    }
+
+    @GetMapping("/{id}/prices/daily")
+    public ResponseEntity<List<DailyPriceResponse>> getDailyPriceHistory(@PathVariable UUID id) {
+        var prices = anomalyDetectionService.getDailyPricesForRoute(id);
         return ResponseEntity.ok(prices);
     }
 
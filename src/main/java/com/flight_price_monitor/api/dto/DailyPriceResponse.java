@@ -0,0 +1,11 @@
+package com.flight_price_monitor.api.dto;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Builder
+public record DailyPriceResponse(LocalDate date, BigDecimal open, BigDecimal close, BigDecimal min, BigDecimal max,
+                                 BigDecimal mean, long sampleCount, long anomalyCount, String currency) {
+}
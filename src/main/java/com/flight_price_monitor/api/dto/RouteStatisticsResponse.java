@@ -8,6 +8,7 @@ import java.util.UUID;
 
 @Builder
 public record RouteStatisticsResponse(UUID routeId, String origin, String destination, LocalDate departureDate,
-                                      BigDecimal mean, BigDecimal median, BigDecimal standardDeviation, BigDecimal min,
+                                      BigDecimal mean, BigDecimal median, BigDecimal p10, BigDecimal p25,
+                                      BigDecimal p75, BigDecimal p90, BigDecimal standardDeviation, BigDecimal min,
                                       BigDecimal max, int sampleCount, BigDecimal currentPrice, Double zScore) {
 }
@@ -13,6 +13,7 @@ import com.flight_price_monitor.api.dto.ErrorResponse;
 import com.flight_price_monitor.common.exception.AmadeusApiException;
 import com.flight_price_monitor.common.exception.DuplicateRouteException;
 import com.flight_price_monitor.common.exception.InsufficientDataException;
+import com.flight_price_monitor.common.exception.InvalidPriceHistoryQueryException;
 import com.flight_price_monitor.common.exception.RouteNotFoundException;
 
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +37,11 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.UNPROCESSABLE_CONTENT, ex.getMessage());
     }
 
+    @ExceptionHandler(InvalidPriceHistoryQueryException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidPriceHistoryQuery(InvalidPriceHistoryQueryException ex) {
+        return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
     @ExceptionHandler(AmadeusApiException.class)
     public ResponseEntity<ErrorResponse> handleAmadeusApiError(AmadeusApiException ex) {
         return buildResponse(HttpStatus.BAD_GATEWAY, ex.getMessage());
@@ -2,25 +2,38 @@ package com.flight_price_monitor.application;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.flight_price_monitor.api.dto.DailyPriceResponse;
 import com.flight_price_monitor.api.dto.DealResponse;
-import com.flight_price_monitor.api.dto.PriceSnapshotResponse;
 import com.flight_price_monitor.api.dto.RouteStatisticsResponse;
 import com.flight_price_monitor.common.exception.InsufficientDataException;
 import com.flight_price_monitor.common.exception.RouteNotFoundException;
 import com.flight_price_monitor.config.AnomalyProperties;
 import com.flight_price_monitor.domain.model.AnomalyDetector;
+import com.flight_price_monitor.domain.model.DailyPriceRollup;
+import com.flight_price_monitor.domain.model.DealCandidate;
+import com.flight_price_monitor.domain.model.PriceAggregate;
+import com.flight_price_monitor.domain.model.PriceQuantileSketch;
+import com.flight_price_monitor.domain.model.PriceSnapshot;
 import com.flight_price_monitor.domain.model.PriceStatistics;
-import com.flight_price_monitor.persistence.entity.PriceSnapshotEntity;
-import com.flight_price_monitor.persistence.entity.RouteEntity;
-import com.flight_price_monitor.persistence.mapper.PriceSnapshotMapper;
+import com.flight_price_monitor.persistence.projection.RouteSummary;
+import com.flight_price_monitor.persistence.repository.AnomalyEvaluationBacklogRepository;
+import com.flight_price_monitor.persistence.repository.PriceSnapshotBatchRepository;
 import com.flight_price_monitor.persistence.repository.PriceSnapshotRepository;
+import com.flight_price_monitor.persistence.repository.PriceSnapshotRollupRepository;
+import com.flight_price_monitor.persistence.repository.RoutePriceStatsRepository;
 import com.flight_price_monitor.persistence.repository.RouteRepository;
 
 import lombok.extern.slf4j.Slf4j;
@@ -32,60 +45,112 @@ public class AnomalyDetectionService {
     private final RouteRepository routeRepository;
     private final PriceSnapshotRepository snapshotRepository;
     private final AnomalyProperties anomalyProperties;
-    private final PriceSnapshotMapper priceSnapshotMapper;
+    private final RoutePriceStatsRepository routePriceStatsRepository;
+    private final PriceSnapshotRollupRepository rollupRepository;
+    private final PriceSnapshotBatchRepository snapshotBatchRepository;
+    private final AnomalyEvaluationBacklogRepository evaluationBacklogRepository;
+    private final Timer evaluationTimer;
+    private final Counter anomaliesDetected;
 
     public AnomalyDetectionService(RouteRepository routeRepository, PriceSnapshotRepository snapshotRepository,
-                                   AnomalyProperties anomalyProperties, PriceSnapshotMapper priceSnapshotMapper) {
+                                   AnomalyProperties anomalyProperties,
+                                   RoutePriceStatsRepository routePriceStatsRepository,
+                                   PriceSnapshotRollupRepository rollupRepository,
+                                   PriceSnapshotBatchRepository snapshotBatchRepository,
+                                   AnomalyEvaluationBacklogRepository evaluationBacklogRepository,
+                                   MeterRegistry meterRegistry) {
         this.routeRepository = routeRepository;
         this.snapshotRepository = snapshotRepository;
         this.anomalyProperties = anomalyProperties;
-        this.priceSnapshotMapper = priceSnapshotMapper;
+        this.routePriceStatsRepository = routePriceStatsRepository;
+        this.rollupRepository = rollupRepository;
+        this.snapshotBatchRepository = snapshotBatchRepository;
+        this.evaluationBacklogRepository = evaluationBacklogRepository;
+        this.evaluationTimer = Timer.builder("anomaly.evaluation")
+                .description("Time spent evaluating new price snapshots for anomalies")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.anomaliesDetected = Counter.builder("anomalies.detected")
+                .description("Price snapshots flagged as anomalies")
+                .register(meterRegistry);
     }
 
     @Transactional
-    public void evaluateAnomaly(PriceSnapshotEntity snapshot) {
-        List<PriceSnapshotEntity> snapshots = snapshotRepository.findByRouteId(snapshot.getRoute().getId());
-        if (snapshots.size() < anomalyProperties.minSamples()) {
-            log.info("Not enough samples to evaluate anomaly, {} received, {} required", snapshots.size(), anomalyProperties.minSamples());
-            return;
-        }
+    public List<PriceSnapshot> flagAnomalies(List<PriceSnapshot> storedSnapshots) {
+        return evaluationTimer.record(() -> evaluate(storedSnapshots));
+    }
 
-        List<BigDecimal> prices = snapshots.stream().map(PriceSnapshotEntity::getPrice).toList();
-        PriceStatistics statistics = AnomalyDetector.buildStatistics(prices, snapshot.getPrice());
+    // Route stats already include the stored snapshots, the ingest transaction adds them together with the insert.
+    // They also include whatever was stored for the route since, which only matters when evaluation lags behind by
+    // more than the route's fetch interval.
+    private List<PriceSnapshot> evaluate(List<PriceSnapshot> storedSnapshots) {
+        Map<UUID, PriceAggregate> aggregates = routePriceStatsRepository.findByRouteIds(
+                storedSnapshots.stream().map(PriceSnapshot::routeId).distinct().toList());
+
+        List<PriceSnapshot> evaluated = new ArrayList<>(storedSnapshots.size());
+        List<PriceSnapshot> anomalies = new ArrayList<>();
+        for (PriceSnapshot snapshot : storedSnapshots) {
+            PriceAggregate aggregate = aggregates.getOrDefault(snapshot.routeId(), PriceAggregate.EMPTY);
+            if (isAnomaly(aggregate, snapshot.price())) {
+                log.info("Detected anomaly for price snapshot, id={}, price={}", snapshot.id(), snapshot.price());
+                PriceSnapshot anomaly = withAnomalyFlag(snapshot);
+                anomalies.add(anomaly);
+                evaluated.add(anomaly);
+            } else {
+                evaluated.add(snapshot);
+            }
+        }
+        snapshotBatchRepository.markAnomalies(anomalies);
+        evaluationBacklogRepository.removeAll(storedSnapshots);
+        anomaliesDetected.increment(anomalies.size());
+        return evaluated;
+    }
 
-        if (AnomalyDetector.isAnomalyByZScore(statistics.zScore(), anomalyProperties.zScoreThreshold())) {
-            snapshot.setIsAnomaly(true);
-            snapshotRepository.save(snapshot);
-            log.info("Detected anomaly for price snapshot, id={}, price={}", snapshot.getId(), snapshot.getPrice());
-            return;
+    private boolean isAnomaly(PriceAggregate aggregate, BigDecimal price) {
+        if (aggregate.count() < anomalyProperties.minSamples()) {
+            return false;
         }
 
-        log.info("Did not detect anomaly for price snapshot, id={}, price={}", snapshot.getId(), snapshot.getPrice());
+        BigDecimal mean = AnomalyDetector.calculateMean(aggregate);
+        BigDecimal standardDeviation = AnomalyDetector.calculateStandardDeviation(aggregate, mean);
+        Double zScore = AnomalyDetector.calculateZScore(price, mean, standardDeviation);
+        return AnomalyDetector.isAnomalyByZScore(zScore, anomalyProperties.zScoreThreshold());
+    }
+
+    private static PriceSnapshot withAnomalyFlag(PriceSnapshot snapshot) {
+        return new PriceSnapshot(snapshot.id(), snapshot.routeId(), snapshot.price(), snapshot.currency(),
+                snapshot.retrievedAt(), true);
     }
 
     @Transactional(readOnly = true)
     public RouteStatisticsResponse getStatistics(UUID routeId) {
-        RouteEntity route = routeRepository.findById(routeId).orElseThrow(() -> new RouteNotFoundException(routeId));
-        List<PriceSnapshotEntity> snapshots = snapshotRepository.findByRouteId(routeId);
-        if (snapshots.isEmpty())
-            throw new InsufficientDataException(routeId, anomalyProperties.minSamples(), 0);
+        RouteSummary route = routeRepository.findSummaryById(routeId).orElseThrow(() -> new RouteNotFoundException(routeId));
+        PriceAggregate aggregate = routePriceStatsRepository.findByRouteId(routeId)
+                .orElseThrow(() -> new InsufficientDataException(routeId, anomalyProperties.minSamples(), 0));
 
-        List<BigDecimal> prices = snapshots.stream().map(PriceSnapshotEntity::getPrice).toList();
-        PriceSnapshotEntity latestSnapshot = snapshotRepository.findFirstByRouteIdOrderByRetrievedAtDesc(routeId)
+        BigDecimal currentPrice = snapshotRepository.findLatestPriceByRouteId(routeId)
+                .or(() -> rollupRepository.findLatestByRouteId(routeId).map(DailyPriceRollup::closePrice))
+                .orElseThrow(() -> new InsufficientDataException(routeId, anomalyProperties.minSamples(), 0));
+        PriceQuantileSketch sketch = routePriceStatsRepository.findQuantileSketch(routeId)
                 .orElseThrow(() -> new InsufficientDataException(routeId, anomalyProperties.minSamples(), 0));
-        PriceStatistics statistics = AnomalyDetector.buildStatistics(prices, latestSnapshot.getPrice());
+        PriceStatistics statistics = AnomalyDetector.buildStatistics(
+                aggregate, sketch.quantile(0.5), currentPrice);
 
         return RouteStatisticsResponse.builder()
                 .routeId(routeId)
-                .origin(route.getOrigin())
-                .destination(route.getDestination())
-                .departureDate(route.getDepartureDate())
+                .origin(route.origin())
+                .destination(route.destination())
+                .departureDate(route.departureDate())
                 .mean(statistics.mean())
                 .median(statistics.median())
+                .p10(sketch.quantile(0.10))
+                .p25(sketch.quantile(0.25))
+                .p75(sketch.quantile(0.75))
+                .p90(sketch.quantile(0.90))
                 .standardDeviation(statistics.standardDeviation())
                 .min(statistics.min())
                 .max(statistics.max())
-                .sampleCount(prices.size())
+                .sampleCount(statistics.sampleCount())
                 .currentPrice(statistics.currentPrice())
                 .zScore(statistics.zScore())
                 .build();
@@ -93,30 +158,29 @@ public class AnomalyDetectionService {
 
     @Transactional(readOnly = true)
     public List<DealResponse> getCurrentDeals() {
-        List<RouteEntity> routes = routeRepository.findAllByActiveTrue();
-        return routes.stream().<DealResponse>mapMulti((route, consumer) -> {
-            List<PriceSnapshotEntity> snapshots = snapshotRepository.findByRouteId(route.getId());
-            if (snapshots.size() < anomalyProperties.minSamples()) {
-                return;
-            }
+        return toDeals(routePriceStatsRepository.findDealCandidates(anomalyProperties.minSamples()));
+    }
 
-            PriceSnapshotEntity latestSnapshot = snapshotRepository.findFirstByRouteIdOrderByRetrievedAtDesc(route.getId())
-                    .orElse(null);
-            if (latestSnapshot == null) {
-                return;
-            }
+    @Transactional(readOnly = true)
+    public List<DealResponse> getDeals(Collection<UUID> routeIds) {
+        if (routeIds.isEmpty()) return List.of();
+        return toDeals(routePriceStatsRepository.findDealCandidates(anomalyProperties.minSamples(), routeIds));
+    }
 
-            BigDecimal currentPrice = latestSnapshot.getPrice();
-            List<BigDecimal> prices = snapshots.stream().map(PriceSnapshotEntity::getPrice).toList();
-            PriceStatistics statistics = AnomalyDetector.buildStatistics(prices, currentPrice);
+    private List<DealResponse> toDeals(List<DealCandidate> candidates) {
+        return candidates.stream().<DealResponse>mapMulti((candidate, consumer) -> {
+            BigDecimal currentPrice = candidate.currentPrice();
+            BigDecimal mean = AnomalyDetector.calculateMean(candidate.aggregate());
+            BigDecimal standardDeviation = AnomalyDetector.calculateStandardDeviation(candidate.aggregate(), mean);
+            Double zScore = AnomalyDetector.calculateZScore(currentPrice, mean, standardDeviation);
 
-            BigDecimal dropPercentage = statistics.mean()
+            BigDecimal dropPercentage = mean
                     .subtract(currentPrice)
-                    .divide(statistics.mean(), 4, RoundingMode.HALF_UP)
+                    .divide(mean, 4, RoundingMode.HALF_UP)
                     .multiply(BigDecimal.valueOf(100));
 
             boolean anomalyByZScore = AnomalyDetector.isAnomalyByZScore(
-                    statistics.zScore(),
+                    zScore,
                     anomalyProperties.zScoreThreshold()
             );
             boolean anomalyByPercentage = dropPercentage.compareTo(
@@ -125,24 +189,35 @@ public class AnomalyDetectionService {
 
             if (anomalyByZScore || anomalyByPercentage) {
                 consumer.accept(DealResponse.builder()
-                        .routeId(route.getId())
-                        .origin(route.getOrigin())
-                        .destination(route.getDestination())
-                        .departureDate(route.getDepartureDate())
-                        .currentPrice(statistics.currentPrice())
-                        .averagePrice(statistics.mean())
+                        .routeId(candidate.routeId())
+                        .origin(candidate.origin())
+                        .destination(candidate.destination())
+                        .departureDate(candidate.departureDate())
+                        .currentPrice(currentPrice)
+                        .averagePrice(mean)
                         .dropPercentage(dropPercentage)
-                        .currency(latestSnapshot.getCurrency())
-                        .retrievedAt(latestSnapshot.getRetrievedAt())
+                        .currency(candidate.currency())
+                        .retrievedAt(candidate.retrievedAt())
                         .build());
             }
         }).sorted(Comparator.comparing(DealResponse::dropPercentage).reversed()).toList();
     }
 
     @Transactional(readOnly = true)
-    public List<PriceSnapshotResponse> getSnapshotsForRoute(UUID routeId) {
-        routeRepository.findById(routeId).orElseThrow(() -> new RouteNotFoundException(routeId));
-        List<PriceSnapshotEntity> snapshots = snapshotRepository.findByRouteIdOrderByRetrievedAtDesc(routeId);
-        return snapshots.stream().map(priceSnapshotMapper::toResponse).toList();
+    public List<DailyPriceResponse> getDailyPricesForRoute(UUID routeId) {
+        if (!routeRepository.existsById(routeId)) throw new RouteNotFoundException(routeId);
+        return rollupRepository.findByRouteId(routeId).stream()
+                .map(rollup -> DailyPriceResponse.builder()
+                        .date(rollup.day())
+                        .open(rollup.openPrice())
+                        .close(rollup.closePrice())
+                        .min(rollup.aggregate().min())
+                        .max(rollup.aggregate().max())
+                        .mean(AnomalyDetector.calculateMean(rollup.aggregate()))
+                        .sampleCount(rollup.aggregate().count())
+                        .anomalyCount(rollup.anomalyCount())
+                        .currency(rollup.currency())
+                        .build())
+                .toList();
     }
 }
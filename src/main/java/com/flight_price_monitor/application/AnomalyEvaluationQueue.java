@@ -0,0 +1,107 @@
+package com.flight_price_monitor.application;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import com.flight_price_monitor.config.AnomalyEvaluationProperties;
+import com.flight_price_monitor.domain.model.PriceSnapshot;
+import com.flight_price_monitor.persistence.repository.AnomalyEvaluationBacklogRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class AnomalyEvaluationQueue {
+    private final BlockingQueue<PriceSnapshot> queue;
+    private final AnomalyEvaluationBacklogRepository backlogRepository;
+    private final AnomalyEvaluationProperties evaluationProperties;
+    private final Timer submitTimer;
+    private final Counter dropped;
+    private final Counter recovered;
+
+    public AnomalyEvaluationQueue(AnomalyEvaluationBacklogRepository backlogRepository,
+                                  AnomalyEvaluationProperties evaluationProperties, MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(evaluationProperties.queueCapacity());
+        this.backlogRepository = backlogRepository;
+        this.evaluationProperties = evaluationProperties;
+        Gauge.builder("anomaly.evaluation.queue", queue, BlockingQueue::size)
+                .description("Stored price snapshots waiting for anomaly evaluation")
+                .register(meterRegistry);
+        this.submitTimer = Timer.builder("anomaly.evaluation.submit")
+                .description("Time fetch workers spend handing snapshots to the evaluator, high when it falls behind")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("anomaly.evaluation.dropped")
+                .description("Stored snapshots that didn't make it into the queue and wait for the recovery sweep")
+                .register(meterRegistry);
+        this.recovered = Counter.builder("anomaly.evaluation.recovered")
+                .description("Snapshots queued again by the recovery sweep")
+                .register(meterRegistry);
+    }
+
+    public void submit(List<PriceSnapshot> snapshots) {
+        long startedAt = System.nanoTime();
+        int queued = 0;
+        try {
+            for (PriceSnapshot snapshot : snapshots) {
+                queue.put(snapshot);
+                queued++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.increment(snapshots.size() - queued);
+            log.warn("Interrupted while queueing snapshots for anomaly evaluation, {} wait for the recovery sweep",
+                    snapshots.size() - queued);
+        } finally {
+            submitTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Every stored snapshot stays in the backlog table until it is evaluated, so snapshots dropped by an interrupted
+    // submit or lost with a crashed instance are queued again once they have waited a whole recovery interval.
+    // Never blocks, whatever doesn't fit in the queue is left for the next sweep.
+    public int recoverStale() {
+        int capacity = queue.remainingCapacity();
+        if (capacity == 0) return 0;
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<PriceSnapshot> stale = backlogRepository.claimStale(now.minus(evaluationProperties.recoveryInterval()),
+                now, capacity);
+        int queued = 0;
+        for (PriceSnapshot snapshot : stale) {
+            if (!queue.offer(snapshot)) break;
+            queued++;
+        }
+        if (queued > 0) {
+            recovered.increment(queued);
+            log.warn("Queued {} price snapshots for anomaly evaluation again that were never evaluated", queued);
+        }
+        return queued;
+    }
+
+    public List<PriceSnapshot> take(int maxBatchSize, Duration pollTimeout) throws InterruptedException {
+        PriceSnapshot first = queue.poll(pollTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) return List.of();
+
+        List<PriceSnapshot> batch = new ArrayList<>(maxBatchSize);
+        batch.add(first);
+        queue.drainTo(batch, maxBatchSize - 1);
+        return batch;
+    }
+
+    public List<PriceSnapshot> drain() {
+        List<PriceSnapshot> remaining = new ArrayList<>(queue.size());
+        queue.drainTo(remaining);
+        return remaining;
+    }
+}
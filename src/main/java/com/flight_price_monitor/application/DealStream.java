@@ -0,0 +1,39 @@
+package com.flight_price_monitor.application;
+
+import org.springframework.stereotype.Component;
+
+import com.flight_price_monitor.api.dto.DealResponse;
+import com.flight_price_monitor.config.DealStreamProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+@Slf4j
+@Component
+public class DealStream {
+    private final DealStreamProperties streamProperties;
+    private final Sinks.Many<DealResponse> sink = Sinks.many().multicast().directBestEffort();
+
+    public DealStream(DealStreamProperties streamProperties) {
+        this.streamProperties = streamProperties;
+    }
+
+    // Each subscriber gets its own buffer, a slow one loses its oldest deals instead of holding up the publisher.
+    public Flux<DealResponse> subscribe(String origin, String destination) {
+        return sink.asFlux()
+                .filter(deal -> origin == null || origin.equalsIgnoreCase(deal.origin()))
+                .filter(deal -> destination == null || destination.equalsIgnoreCase(deal.destination()))
+                .onBackpressureBuffer(streamProperties.subscriberBuffer(),
+                        dropped -> log.debug("Dropped deal for route {} on a slow subscriber", dropped.routeId()),
+                        BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    synchronized void publish(DealResponse deal) {
+        Sinks.EmitResult result = sink.tryEmitNext(deal);
+        if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+            log.warn("Failed to publish deal for route {}: {}", deal.routeId(), result);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.flight_price_monitor.application;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.flight_price_monitor.api.dto.DealResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class DealsRegistry {
+    private static final Comparator<DealResponse> BIGGEST_DROP_FIRST =
+            Comparator.comparing(DealResponse::dropPercentage).reversed();
+
+    private final AnomalyDetectionService anomalyDetectionService;
+    private final DealStream dealStream;
+    private final Map<UUID, DealResponse> dealsByRoute = new HashMap<>();
+    private volatile List<DealResponse> sortedDeals = List.of();
+
+    public DealsRegistry(AnomalyDetectionService anomalyDetectionService, DealStream dealStream) {
+        this.anomalyDetectionService = anomalyDetectionService;
+        this.dealStream = dealStream;
+    }
+
+    public List<DealResponse> getDeals() {
+        return sortedDeals;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long startedAt = System.nanoTime();
+        replaceAll(anomalyDetectionService.getCurrentDeals());
+        log.info("Rebuilt deals registry with {} deals in {} ms", sortedDeals.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    // Events only cover this instance, routes fetched or (de)activated on other instances arrive through here.
+    @Scheduled(initialDelayString = "${deals.registry.reconcile-interval}",
+            fixedDelayString = "${deals.registry.reconcile-interval}")
+    public synchronized void reconcile() {
+        Map<UUID, DealResponse> previousDeals = new HashMap<>(dealsByRoute);
+        List<DealResponse> deals = anomalyDetectionService.getCurrentDeals();
+        replaceAll(deals);
+        List<DealResponse> changed = deals.stream()
+                .filter(deal -> !deal.equals(previousDeals.get(deal.routeId())))
+                .toList();
+        previousDeals.keySet().removeAll(dealsByRoute.keySet());
+        changed.forEach(dealStream::publish);
+        if (!changed.isEmpty() || !previousDeals.isEmpty()) {
+            log.debug("Reconciled deals registry: {} new or changed, {} removed", changed.size(),
+                    previousDeals.size());
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPriceSnapshotsStored(PriceSnapshotsStoredEvent event) {
+        refresh(event.routeIds());
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRouteStatusChanged(RouteStatusChangedEvent event) {
+        if (event.active()) {
+            refresh(List.of(event.routeId()));
+        } else {
+            remove(event.routeId());
+        }
+    }
+
+    synchronized void refresh(Collection<UUID> routeIds) {
+        if (routeIds.isEmpty()) return;
+
+        List<DealResponse> deals = anomalyDetectionService.getDeals(routeIds);
+        Map<UUID, DealResponse> previousDeals = new HashMap<>();
+        routeIds.forEach(routeId -> {
+            DealResponse previous = dealsByRoute.remove(routeId);
+            if (previous != null) previousDeals.put(routeId, previous);
+        });
+        deals.forEach(deal -> dealsByRoute.put(deal.routeId(), deal));
+        publish();
+        deals.stream()
+                .filter(deal -> !deal.equals(previousDeals.get(deal.routeId())))
+                .forEach(dealStream::publish);
+    }
+
+    synchronized void remove(UUID routeId) {
+        if (dealsByRoute.remove(routeId) != null) {
+            publish();
+        }
+    }
+
+    private void replaceAll(List<DealResponse> deals) {
+        dealsByRoute.clear();
+        deals.forEach(deal -> dealsByRoute.put(deal.routeId(), deal));
+        publish();
+    }
+
+    private void publish() {
+        sortedDeals = dealsByRoute.values().stream().sorted(BIGGEST_DROP_FIRST).toList();
+    }
+}
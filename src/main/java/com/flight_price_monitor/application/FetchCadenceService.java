@@ -0,0 +1,44 @@
+package com.flight_price_monitor.application;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+
+import com.flight_price_monitor.config.AnomalyProperties;
+import com.flight_price_monitor.config.FetchCadenceProperties;
+import com.flight_price_monitor.domain.model.FetchCadenceInput;
+import com.flight_price_monitor.domain.model.FetchCadencePlanner;
+import com.flight_price_monitor.persistence.repository.RouteFetchScheduleRepository;
+
+@Service
+public class FetchCadenceService {
+    private final RouteFetchScheduleRepository scheduleRepository;
+    private final FetchCadenceProperties cadenceProperties;
+    private final FetchCadencePlanner planner;
+
+    public FetchCadenceService(RouteFetchScheduleRepository scheduleRepository,
+                               FetchCadenceProperties cadenceProperties,
+                               AnomalyProperties anomalyProperties) {
+        this.scheduleRepository = scheduleRepository;
+        this.cadenceProperties = cadenceProperties;
+        this.planner = new FetchCadencePlanner(cadenceProperties.minInterval(), cadenceProperties.maxInterval(),
+                cadenceProperties.warmupInterval(), anomalyProperties.minSamples(),
+                cadenceProperties.departureHorizonDays(), cadenceProperties.volatilityReference());
+    }
+
+    public Map<UUID, OffsetDateTime> scheduleNextFetches(Collection<UUID> routeIds, OffsetDateTime now) {
+        Map<UUID, OffsetDateTime> nextFetchAt = new HashMap<>();
+        for (FetchCadenceInput input : scheduleRepository.findCadenceInputs(routeIds,
+                now.minus(cadenceProperties.volatilityWindow()))) {
+            nextFetchAt.put(input.routeId(),
+                    now.plus(planner.nextInterval(input, now.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate())));
+        }
+        scheduleRepository.updateNextFetchAt(nextFetchAt);
+        return nextFetchAt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.flight_price_monitor.application;
+
+import java.time.Duration;
+
+public record FetchRunSummary(int routes, int successful, int failed, int rejected, long circuitTransitions,
+                              Duration elapsed) {
+}
@@ -0,0 +1,125 @@
+package com.flight_price_monitor.application;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.flight_price_monitor.config.FetchCadenceProperties;
+import com.flight_price_monitor.config.FetchQueueProperties;
+import com.flight_price_monitor.domain.model.FetchRetryPolicy;
+import com.flight_price_monitor.domain.model.FetchTask;
+import com.flight_price_monitor.domain.model.FetchTaskRetry;
+import com.flight_price_monitor.persistence.repository.FetchTaskRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class FetchTaskQueueService {
+    private final FetchTaskRepository taskRepository;
+    private final FetchQueueProperties queueProperties;
+    private final FetchCadenceProperties cadenceProperties;
+    private final FetchRetryPolicy retryPolicy;
+    private final Clock clock;
+    private final String nodeId;
+
+    @Autowired
+    public FetchTaskQueueService(FetchTaskRepository taskRepository, FetchQueueProperties queueProperties,
+                                 FetchCadenceProperties cadenceProperties, MeterRegistry meterRegistry) {
+        this(taskRepository, queueProperties, cadenceProperties, meterRegistry, Clock.systemUTC());
+    }
+
+    FetchTaskQueueService(FetchTaskRepository taskRepository, FetchQueueProperties queueProperties,
+                          FetchCadenceProperties cadenceProperties, MeterRegistry meterRegistry, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.queueProperties = queueProperties;
+        this.cadenceProperties = cadenceProperties;
+        this.retryPolicy = new FetchRetryPolicy(queueProperties.maxAttempts(), queueProperties.retryBackoff(),
+                queueProperties.maxRetryBackoff());
+        this.clock = clock;
+        this.nodeId = queueProperties.nodeId() == null || queueProperties.nodeId().isBlank()
+                ? defaultNodeId()
+                : queueProperties.nodeId();
+        for (String status : List.of(FetchTaskRepository.PENDING, FetchTaskRepository.RUNNING,
+                FetchTaskRepository.FAILED)) {
+            Gauge.builder("fetch.queue.tasks", taskRepository, repository -> repository.countByStatus(status))
+                    .description("Fetch tasks in the queue by status")
+                    .tag("status", status.toLowerCase())
+                    .register(meterRegistry);
+        }
+        log.info("Claiming fetch tasks as node {}", nodeId);
+    }
+
+    public int enqueueDueRoutes() {
+        OffsetDateTime now = OffsetDateTime.now(clock);
+        return taskRepository.enqueueDue(now, now, LocalDate.now(clock));
+    }
+
+    public List<FetchTask> claim(int limit) {
+        OffsetDateTime now = OffsetDateTime.now(clock);
+        return taskRepository.claim(nodeId, now, now.plus(queueProperties.leaseDuration()), limit);
+    }
+
+    public Set<UUID> complete(Collection<UUID> routeIds) {
+        return taskRepository.complete(nodeId, routeIds);
+    }
+
+    public void fail(Map<FetchTask, String> errors) {
+        OffsetDateTime now = OffsetDateTime.now(clock);
+        List<FetchTaskRetry> retries = new ArrayList<>();
+        Map<Long, String> givenUp = new HashMap<>();
+        errors.forEach((task, error) -> {
+            if (retryPolicy.canRetry(task.attempts())) {
+                retries.add(new FetchTaskRetry(task.id(), now.plus(retryPolicy.backoff(task.attempts())), error));
+            } else {
+                log.warn("Giving up on route {} after {} attempts: {}", task.route().id(), task.attempts(), error);
+                givenUp.put(task.id(), error);
+            }
+        });
+        taskRepository.retry(nodeId, retries);
+        taskRepository.giveUp(nodeId, givenUp, now.plus(cadenceProperties.maxInterval()));
+    }
+
+    public void postpone(Map<FetchTask, String> rejections) {
+        OffsetDateTime retryAt = OffsetDateTime.now(clock).plus(queueProperties.retryBackoff());
+        taskRepository.postpone(nodeId, rejections.entrySet().stream()
+                .map(rejection -> new FetchTaskRetry(rejection.getKey().id(), retryAt, rejection.getValue()))
+                .toList());
+    }
+
+    public int renewLeases() {
+        return taskRepository.renew(nodeId, OffsetDateTime.now(clock).plus(queueProperties.leaseDuration()));
+    }
+
+    public int releaseAll() {
+        return taskRepository.releaseAll(nodeId);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,54 @@
+package com.flight_price_monitor.application;
+
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.flight_price_monitor.common.exception.RouteNotFoundException;
+import com.flight_price_monitor.domain.model.PriceColumnarEncoder;
+import com.flight_price_monitor.persistence.repository.PriceExportRepository;
+import com.flight_price_monitor.persistence.repository.RouteRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class PriceExportService {
+    private final RouteRepository routeRepository;
+    private final PriceExportRepository priceExportRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public PriceExportService(RouteRepository routeRepository, PriceExportRepository priceExportRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.routeRepository = routeRepository;
+        this.priceExportRepository = priceExportRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    public void requireRoute(UUID routeId) {
+        if (!routeRepository.existsById(routeId)) throw new RouteNotFoundException(routeId);
+    }
+
+    public void exportRoute(UUID routeId, OutputStream out) {
+        export(out, encoder -> priceExportRepository.forEachByRouteId(routeId, encoder::add));
+    }
+
+    public void exportActiveRoutes(OutputStream out) {
+        export(out, encoder -> priceExportRepository.forEachOfActiveRoutes(encoder::add));
+    }
+
+    private void export(OutputStream out, Consumer<PriceColumnarEncoder> source) {
+        long startedAt = System.nanoTime();
+        Long rows = readOnlyTransactionTemplate.execute(status -> {
+            PriceColumnarEncoder encoder = new PriceColumnarEncoder(out);
+            source.accept(encoder);
+            return encoder.finish();
+        });
+        log.info("Exported {} price snapshots in {} ms", rows, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+}
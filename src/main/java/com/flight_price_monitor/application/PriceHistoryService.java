@@ -0,0 +1,94 @@
+package com.flight_price_monitor.application;
+
+import java.io.OutputStream;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+
+import com.flight_price_monitor.common.exception.InvalidPriceHistoryQueryException;
+import com.flight_price_monitor.common.exception.RouteNotFoundException;
+import com.flight_price_monitor.config.PriceHistoryProperties;
+import com.flight_price_monitor.domain.model.PriceHistoryCursor;
+import com.flight_price_monitor.domain.model.PriceHistoryQuery;
+import com.flight_price_monitor.domain.model.PriceSnapshot;
+import com.flight_price_monitor.persistence.mapper.PriceSnapshotMapper;
+import com.flight_price_monitor.persistence.repository.PriceHistoryRepository;
+import com.flight_price_monitor.persistence.repository.RouteRepository;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+@Service
+public class PriceHistoryService {
+    private final RouteRepository routeRepository;
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final PriceSnapshotMapper priceSnapshotMapper;
+    private final PriceHistoryProperties priceHistoryProperties;
+    private final JsonMapper jsonMapper;
+
+    public PriceHistoryService(RouteRepository routeRepository, PriceHistoryRepository priceHistoryRepository,
+                               PriceSnapshotMapper priceSnapshotMapper, PriceHistoryProperties priceHistoryProperties,
+                               JsonMapper jsonMapper) {
+        this.routeRepository = routeRepository;
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.priceSnapshotMapper = priceSnapshotMapper;
+        this.priceHistoryProperties = priceHistoryProperties;
+        this.jsonMapper = jsonMapper;
+    }
+
+    public PriceHistoryQuery prepareQuery(UUID routeId, OffsetDateTime since, OffsetDateTime until, Integer limit,
+                                          String cursor) {
+        if (!routeRepository.existsById(routeId)) throw new RouteNotFoundException(routeId);
+
+        int pageSize = limit != null ? limit : priceHistoryProperties.defaultLimit();
+        if (pageSize < 1 || pageSize > priceHistoryProperties.maxLimit())
+            throw new InvalidPriceHistoryQueryException(
+                    "limit must be between 1 and " + priceHistoryProperties.maxLimit());
+        if (since != null && until != null && !since.isBefore(until))
+            throw new InvalidPriceHistoryQueryException("since must be before until");
+
+        return new PriceHistoryQuery(routeId, since, until, decodeCursor(cursor), pageSize);
+    }
+
+    // Writes {"items": [...], "nextCursor": ...} while rows are read; one extra row tells whether a next page exists.
+    public void writePage(PriceHistoryQuery query, OutputStream out) {
+        PriceHistoryQuery lookahead = new PriceHistoryQuery(query.routeId(), query.since(), query.until(), query.after(),
+                query.limit() + 1);
+        PriceSnapshot[] last = new PriceSnapshot[1];
+        int[] written = new int[1];
+        boolean[] hasMore = new boolean[1];
+
+        try (JsonGenerator generator = jsonMapper.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeName("items");
+            generator.writeStartArray();
+            priceHistoryRepository.forEach(lookahead, snapshot -> {
+                if (written[0] == query.limit()) {
+                    hasMore[0] = true;
+                    return;
+                }
+                generator.writePOJO(priceSnapshotMapper.toResponse(snapshot));
+                last[0] = snapshot;
+                written[0]++;
+            });
+            generator.writeEndArray();
+            generator.writeName("nextCursor");
+            if (hasMore[0]) {
+                generator.writeString(PriceHistoryCursor.after(last[0]).encode());
+            } else {
+                generator.writeNull();
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    private static PriceHistoryCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            return PriceHistoryCursor.decode(cursor);
+        } catch (RuntimeException e) {
+            throw new InvalidPriceHistoryQueryException("cursor is invalid");
+        }
+    }
+}
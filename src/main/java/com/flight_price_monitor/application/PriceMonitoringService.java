@@ -1,69 +1,207 @@
 package com.flight_price_monitor.application;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.flight_price_monitor.common.exception.AmadeusUnavailableException;
+import com.flight_price_monitor.config.FetchProperties;
+import com.flight_price_monitor.domain.model.FetchTask;
+import com.flight_price_monitor.domain.model.PriceSnapshot;
+import com.flight_price_monitor.domain.model.Route;
+import com.flight_price_monitor.infrastructure.amadeus.AmadeusCircuitBreaker;
 import com.flight_price_monitor.infrastructure.amadeus.AmadeusClient;
 import com.flight_price_monitor.infrastructure.amadeus.FlightPrice;
-import com.flight_price_monitor.persistence.entity.PriceSnapshotEntity;
-import com.flight_price_monitor.persistence.entity.RouteEntity;
-import com.flight_price_monitor.persistence.repository.PriceSnapshotRepository;
-import com.flight_price_monitor.persistence.repository.RouteRepository;
+import com.flight_price_monitor.persistence.repository.AnomalyEvaluationBacklogRepository;
+import com.flight_price_monitor.persistence.repository.PriceSnapshotBatchRepository;
+import com.flight_price_monitor.persistence.repository.RoutePriceStatsRepository;
 
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 @Slf4j
 @Service
 public class PriceMonitoringService {
-    private final RouteRepository routeRepository;
-    private final PriceSnapshotRepository snapshotRepository;
+    private final FetchTaskQueueService fetchTaskQueueService;
+    private final PriceSnapshotBatchRepository snapshotBatchRepository;
+    private final AnomalyEvaluationBacklogRepository evaluationBacklogRepository;
+    private final RoutePriceStatsRepository routePriceStatsRepository;
     private final AmadeusClient amadeusClient;
-    private final AnomalyDetectionService anomalyDetectionService;
+    private final AmadeusCircuitBreaker circuitBreaker;
+    private final AnomalyEvaluationQueue anomalyEvaluationQueue;
+    private final FetchCadenceService fetchCadenceService;
+    private final Scheduler pricePersistenceScheduler;
+    private final FetchProperties fetchProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Timer persistTimer;
+    private final Timer runTimer;
+    private final DistributionSummary routesPerRun;
 
-    public PriceMonitoringService(RouteRepository routeRepository,
-                                 PriceSnapshotRepository snapshotRepository,
+    public PriceMonitoringService(FetchTaskQueueService fetchTaskQueueService,
+                                 PriceSnapshotBatchRepository snapshotBatchRepository,
+                                 AnomalyEvaluationBacklogRepository evaluationBacklogRepository,
+                                 RoutePriceStatsRepository routePriceStatsRepository,
                                  AmadeusClient amadeusClient,
-                                 AnomalyDetectionService anomalyDetectionService) {
-        this.routeRepository = routeRepository;
-        this.snapshotRepository = snapshotRepository;
+                                 AmadeusCircuitBreaker circuitBreaker,
+                                 AnomalyEvaluationQueue anomalyEvaluationQueue,
+                                 FetchCadenceService fetchCadenceService,
+                                 Scheduler pricePersistenceScheduler,
+                                 FetchProperties fetchProperties,
+                                 TransactionTemplate transactionTemplate,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry) {
+        this.fetchTaskQueueService = fetchTaskQueueService;
+        this.snapshotBatchRepository = snapshotBatchRepository;
+        this.evaluationBacklogRepository = evaluationBacklogRepository;
+        this.routePriceStatsRepository = routePriceStatsRepository;
         this.amadeusClient = amadeusClient;
-        this.anomalyDetectionService = anomalyDetectionService;
+        this.circuitBreaker = circuitBreaker;
+        this.anomalyEvaluationQueue = anomalyEvaluationQueue;
+        this.fetchCadenceService = fetchCadenceService;
+        this.pricePersistenceScheduler = pricePersistenceScheduler;
+        this.fetchProperties = fetchProperties;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.persistTimer = Timer.builder("prices.persist")
+                .description("Time to store one batch of fetched prices")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("fetch.run")
+                .description("Duration of processing one claimed chunk of fetch tasks")
+                .register(meterRegistry);
+        this.routesPerRun = DistributionSummary.builder("fetch.run.routes")
+                .description("Fetch tasks processed per claimed chunk")
+                .register(meterRegistry);
     }
 
+    public FetchRunSummary processNextTasks() {
+        long startedAt = System.nanoTime();
+        List<FetchTask> tasks = fetchTaskQueueService.claim(fetchProperties.chunkSize());
+        if (tasks.isEmpty()) return new FetchRunSummary(0, 0, 0, 0, 0, Duration.ZERO);
 
-    @Transactional
-    public void fetchPricesForAllActiveRoutes() {
+        Map<UUID, FetchTask> tasksByRoute = tasks.stream()
+                .collect(Collectors.toMap(task -> task.route().id(), Function.identity()));
+        Map<FetchTask, String> failures = new ConcurrentHashMap<>();
+        Map<FetchTask, String> rejections = new ConcurrentHashMap<>();
         AtomicInteger successfulCount = new AtomicInteger(0);
-        AtomicInteger errorCount = new AtomicInteger(0);
-        var activeRoutes = routeRepository.findAllByActiveTrue();
-
-        activeRoutes.forEach(route -> {
-            try {
-                fetchAndSavePrice(route);
-                successfulCount.incrementAndGet();
-            } catch (Exception e) {
-                log.warn("Route error {}: {}", route.getId(), e.getMessage());
-                errorCount.incrementAndGet();
-            }
-        });
+        long transitionsBefore = circuitBreaker.transitionCount();
+
+        Flux.fromIterable(tasks)
+                .flatMap(task -> fetchPrice(task.route())
+                                .onErrorResume(e -> {
+                                    if (e instanceof AmadeusUnavailableException) {
+                                        log.debug("Route skipped {}: {}", task.route().id(), e.getMessage());
+                                        rejections.put(task, errorMessage(e));
+                                    } else {
+                                        log.warn("Route error {}: {}", task.route().id(), e.getMessage());
+                                        failures.put(task, errorMessage(e));
+                                    }
+                                    return Mono.empty();
+                                }),
+                        fetchProperties.concurrency())
+                .buffer(fetchProperties.batchSize())
+                .flatMap(batch -> Mono.fromCallable(() -> store(batch))
+                                .subscribeOn(pricePersistenceScheduler)
+                                .doOnNext(successfulCount::addAndGet)
+                                .onErrorResume(e -> {
+                                    log.warn("Failed to store batch of {} price snapshots: {}", batch.size(), e.getMessage());
+                                    batch.forEach(snapshot ->
+                                            failures.put(tasksByRoute.get(snapshot.routeId()), errorMessage(e)));
+                                    return Mono.empty();
+                                }),
+                        fetchProperties.persistenceThreads())
+                .then()
+                .block();
+        fetchTaskQueueService.fail(failures);
+        fetchTaskQueueService.postpone(rejections);
+
+        FetchRunSummary summary = new FetchRunSummary(tasks.size(), successfulCount.get(),
+                failures.size() + rejections.size(), rejections.size(),
+                circuitBreaker.transitionCount() - transitionsBefore, Duration.ofNanos(System.nanoTime() - startedAt));
+        recordRun(summary);
         log.info(
-                "Finished fetching and saving flight prices, {} successful, {} failed",
-                successfulCount.get(),
-                errorCount.get()
+                "Processed {} fetch tasks in {} ms, {} successful, {} failed "
+                        + "({} rejected without calling Amadeus), {} circuit breaker transitions, circuit {}",
+                summary.routes(),
+                summary.elapsed().toMillis(),
+                summary.successful(),
+                summary.failed(),
+                summary.rejected(),
+                summary.circuitTransitions(),
+                circuitBreaker.state()
         );
+        return summary;
+    }
+
+    private void recordRun(FetchRunSummary summary) {
+        runTimer.record(summary.elapsed());
+        routesPerRun.record(summary.routes());
+        meterRegistry.counter("fetch.routes", "outcome", "successful").increment(summary.successful());
+        meterRegistry.counter("fetch.routes", "outcome", "failed").increment(summary.failed() - summary.rejected());
+        meterRegistry.counter("fetch.routes", "outcome", "rejected").increment(summary.rejected());
+    }
+
+    private Mono<PriceSnapshot> fetchPrice(Route route) {
+        return amadeusClient.fetchLowestPrice(route.origin(), route.destination(), route.departureDate())
+                .map(flightPrice -> toSnapshot(route, flightPrice));
+    }
+
+    // Blocks while the evaluation queue is full, which slows the fetch down to the evaluator's pace.
+    private int store(List<PriceSnapshot> batch) {
+        List<PriceSnapshot> stored = persistTimer.record(() -> transactionTemplate.execute(status -> ingest(batch)));
+        if (stored == null || stored.isEmpty()) return 0;
+
+        anomalyEvaluationQueue.submit(stored);
+        return stored.size();
+    }
+
+    // Tasks are completed first, so a route whose lease was taken over by another node or whose task was deleted
+    // by a deactivation mid-fetch is not stored twice.
+    private List<PriceSnapshot> ingest(List<PriceSnapshot> batch) {
+        Set<UUID> heldRouteIds = fetchTaskQueueService.complete(
+                batch.stream().map(PriceSnapshot::routeId).collect(Collectors.toUnmodifiableSet()));
+        List<PriceSnapshot> held = batch.stream()
+                .filter(snapshot -> heldRouteIds.contains(snapshot.routeId()))
+                .toList();
+        if (held.size() < batch.size()) {
+            log.warn("Discarded {} fetched prices of routes whose fetch task is no longer held by this node",
+                    batch.size() - held.size());
+        }
+        if (held.isEmpty()) return held;
+
+        snapshotBatchRepository.insertAll(held);
+        evaluationBacklogRepository.addAll(held);
+        routePriceStatsRepository.addAll(held);
+        fetchCadenceService.scheduleNextFetches(heldRouteIds, OffsetDateTime.now());
+        eventPublisher.publishEvent(new PriceSnapshotsStoredEvent(heldRouteIds));
+        return held;
+    }
+
+    private static String errorMessage(Throwable e) {
+        return e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
     }
 
-    private void fetchAndSavePrice(RouteEntity route) {
-        FlightPrice flightPrice = amadeusClient.getLowestPrice(route.getOrigin(), route.getDestination(), route.getDepartureDate());
-        PriceSnapshotEntity snapshot = PriceSnapshotEntity.builder()
-                .price(flightPrice.price())
-                .currency(flightPrice.currency())
-                .route(route)
-                .isAnomaly(false)
-                .build();
-        PriceSnapshotEntity savedSnapshot = snapshotRepository.save(snapshot);
-        anomalyDetectionService.evaluateAnomaly(savedSnapshot);
+    private static PriceSnapshot toSnapshot(Route route, FlightPrice flightPrice) {
+        return new PriceSnapshot(UUID.randomUUID(), route.id(), flightPrice.price(), flightPrice.currency(),
+                OffsetDateTime.now(), false);
     }
 }
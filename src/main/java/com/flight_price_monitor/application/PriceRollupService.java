@@ -0,0 +1,82 @@
+package com.flight_price_monitor.application;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.flight_price_monitor.config.RollupProperties;
+import com.flight_price_monitor.domain.model.DailyPriceRollup;
+import com.flight_price_monitor.domain.model.PriceSnapshot;
+import com.flight_price_monitor.persistence.repository.PriceSnapshotRollupRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class PriceRollupService {
+    private final PriceSnapshotRollupRepository rollupRepository;
+    private final RollupProperties rollupProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    @Autowired
+    public PriceRollupService(PriceSnapshotRollupRepository rollupRepository, RollupProperties rollupProperties,
+                              TransactionTemplate transactionTemplate) {
+        this(rollupRepository, rollupProperties, transactionTemplate, Clock.systemUTC());
+    }
+
+    PriceRollupService(PriceSnapshotRollupRepository rollupRepository, RollupProperties rollupProperties,
+                       TransactionTemplate transactionTemplate, Clock clock) {
+        this.rollupRepository = rollupRepository;
+        this.rollupProperties = rollupProperties;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+    }
+
+    public int compactExpiredSnapshots() {
+        LocalDate cutoff = LocalDate.now(clock.withZone(ZoneOffset.UTC)).minus(rollupProperties.rawRetention());
+        LocalDate day = rollupRepository.findOldestRawBefore(atStartOfDay(cutoff))
+                .map(oldest -> oldest.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate())
+                .orElse(cutoff);
+
+        int compacted = 0;
+        for (; day.isBefore(cutoff); day = day.plusDays(1)) {
+            LocalDate bucket = day;
+            compacted += transactionTemplate.execute(status -> compactDay(bucket));
+        }
+        if (compacted > 0) {
+            log.info("Compacted {} price snapshots older than {} into daily rollups", compacted, cutoff);
+        }
+        return compacted;
+    }
+
+    private int compactDay(LocalDate day) {
+        List<PriceSnapshot> snapshots = rollupRepository.deleteRawBetween(atStartOfDay(day), atStartOfDay(day.plusDays(1)));
+        if (snapshots.isEmpty()) return 0;
+
+        Map<UUID, DailyPriceRollup> existing = rollupRepository.findByDayForUpdate(day);
+        List<DailyPriceRollup> rollups = snapshots.stream()
+                .collect(Collectors.groupingBy(PriceSnapshot::routeId))
+                .values().stream()
+                .map(routeSnapshots -> DailyPriceRollup.of(day, routeSnapshots))
+                .map(rollup -> existing.containsKey(rollup.routeId())
+                        ? existing.get(rollup.routeId()).merge(rollup)
+                        : rollup)
+                .toList();
+        rollupRepository.upsertAll(rollups);
+        return snapshots.size();
+    }
+
+    private static OffsetDateTime atStartOfDay(LocalDate date) {
+        return date.atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,115 @@
+package com.flight_price_monitor.application;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import com.flight_price_monitor.config.PartitionProperties;
+import com.flight_price_monitor.domain.model.TimePartition;
+import com.flight_price_monitor.persistence.repository.PriceSnapshotPartitionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class PriceSnapshotPartitionService {
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final PriceSnapshotPartitionRepository partitionRepository;
+    private final PartitionProperties partitionProperties;
+    private final Clock clock;
+
+    @Autowired
+    public PriceSnapshotPartitionService(PriceSnapshotPartitionRepository partitionRepository,
+                                         PartitionProperties partitionProperties) {
+        this(partitionRepository, partitionProperties, Clock.systemUTC());
+    }
+
+    PriceSnapshotPartitionService(PriceSnapshotPartitionRepository partitionRepository,
+                                  PartitionProperties partitionProperties, Clock clock) {
+        this.partitionRepository = partitionRepository;
+        this.partitionProperties = partitionProperties;
+        this.clock = clock;
+    }
+
+    public void maintainPartitions() {
+        List<TimePartition> partitions = partitionRepository.findAll();
+        LocalDate today = LocalDate.now(clock.withZone(ZoneOffset.UTC));
+
+        int created = createFuturePartitions(partitions, today);
+        int expired = expirePartitions(partitions, today);
+        log.info("Price snapshot partition maintenance created {} and expired {} partitions", created, expired);
+    }
+
+    private int createFuturePartitions(List<TimePartition> partitions, LocalDate today) {
+        LocalDate horizon = today.plus(partitionProperties.interval().multipliedBy(partitionProperties.premake()));
+        LocalDate from = partitions.isEmpty()
+                ? alignedStart(today)
+                : partitions.getLast().to().withOffsetSameInstant(ZoneOffset.UTC).toLocalDate();
+
+        int created = 0;
+        while (from.isBefore(horizon)) {
+            LocalDate to = from.plus(partitionProperties.interval());
+            TimePartition partition = new TimePartition("price_snapshot_p" + from.format(PARTITION_SUFFIX),
+                    atStartOfDay(from), atStartOfDay(to));
+            if (!withLockRetries("create", partition.name(),
+                    () -> partitionRepository.create(partition, partitionProperties.lockTimeout()))) break;
+            created++;
+            from = to;
+        }
+        return created;
+    }
+
+    private int expirePartitions(List<TimePartition> partitions, LocalDate today) {
+        if (partitionProperties.expiredAction() == PartitionProperties.ExpiredAction.KEEP) return 0;
+
+        OffsetDateTime cutoff = atStartOfDay(today.minus(partitionProperties.retention()));
+        int expired = 0;
+        for (TimePartition partition : partitions) {
+            if (partition.to().isAfter(cutoff)) break;
+
+            if (!withLockRetries("detach", partition.name(),
+                    () -> partitionRepository.detach(partition.name(), partitionProperties.lockTimeout()))) break;
+            if (partitionProperties.expiredAction() == PartitionProperties.ExpiredAction.DROP) {
+                partitionRepository.drop(partition.name());
+            }
+            log.info("{} expired price snapshot partition {} [{}, {})", partitionProperties.expiredAction(),
+                    partition.name(), partition.from(), partition.to());
+            expired++;
+        }
+        return expired;
+    }
+
+    // Partition DDL gives up after the lock timeout instead of queueing ingest behind it, a partition that still
+    // can't be locked is left for the next maintenance run, which starts again from the first missing one.
+    private boolean withLockRetries(String action, String name, Runnable ddl) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                ddl.run();
+                return true;
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= partitionProperties.lockAttempts()) {
+                    log.warn("Couldn't {} price snapshot partition {} after {} lock timeouts, retrying on the next run",
+                            action, name, attempt);
+                    return false;
+                }
+                log.debug("Lock timeout on {} of price snapshot partition {}, attempt {}", action, name, attempt);
+            }
+        }
+    }
+
+    private LocalDate alignedStart(LocalDate today) {
+        return partitionProperties.interval().toTotalMonths() > 0 ? today.withDayOfMonth(1) : today;
+    }
+
+    private static OffsetDateTime atStartOfDay(LocalDate date) {
+        return date.atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,7 @@
+package com.flight_price_monitor.application;
+
+import java.util.Set;
+import java.util.UUID;
+
+public record PriceSnapshotsStoredEvent(Set<UUID> routeIds) {
+}
@@ -0,0 +1,33 @@
+package com.flight_price_monitor.application;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.flight_price_monitor.persistence.repository.RoutePriceStatsRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "stats.rebuild-on-startup", havingValue = "true")
+public class RoutePriceStatsRebuildRunner implements ApplicationRunner {
+    private final RoutePriceStatsRepository routePriceStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public RoutePriceStatsRebuildRunner(RoutePriceStatsRepository routePriceStatsRepository,
+                                        TransactionTemplate transactionTemplate) {
+        this.routePriceStatsRepository = routePriceStatsRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startedAt = System.nanoTime();
+        Integer routes = transactionTemplate.execute(status -> routePriceStatsRepository.rebuild());
+        log.info("Rebuilt route price statistics for {} routes in {} ms", routes,
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+}
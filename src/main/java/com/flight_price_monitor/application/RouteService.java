@@ -6,7 +6,9 @@ import com.flight_price_monitor.common.exception.DuplicateRouteException;
 import com.flight_price_monitor.common.exception.RouteNotFoundException;
 import com.flight_price_monitor.persistence.entity.RouteEntity;
 import com.flight_price_monitor.persistence.mapper.RouteMapper;
+import com.flight_price_monitor.persistence.repository.FetchTaskRepository;
 import com.flight_price_monitor.persistence.repository.RouteRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,10 +21,15 @@ import java.util.UUID;
 public class RouteService {
     private final RouteRepository routeRepository;
     private final RouteMapper routeMapper;
+    private final FetchTaskRepository fetchTaskRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public RouteService(RouteRepository routeRepository, RouteMapper routeMapper) {
+    public RouteService(RouteRepository routeRepository, RouteMapper routeMapper,
+                        FetchTaskRepository fetchTaskRepository, ApplicationEventPublisher eventPublisher) {
         this.routeRepository = routeRepository;
         this.routeMapper = routeMapper;
+        this.fetchTaskRepository = fetchTaskRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -43,6 +50,7 @@ public class RouteService {
             RouteEntity route = foundRoute.get();
             route.setActive(true);
             RouteEntity savedRoute = routeRepository.save(route);
+            eventPublisher.publishEvent(new RouteStatusChangedEvent(savedRoute.getId(), true));
             return routeMapper.toResponse(savedRoute);
         }
 
@@ -76,6 +84,7 @@ public class RouteService {
     public void deleteRoute(UUID id) {
         var foundRoute = routeRepository.findById(id).orElseThrow(() -> new RouteNotFoundException(id));
         routeRepository.delete(foundRoute);
+        eventPublisher.publishEvent(new RouteStatusChangedEvent(id, false));
     }
 
     @Transactional
@@ -83,5 +92,7 @@ public class RouteService {
         var foundRoute = routeRepository.findById(id).orElseThrow(() -> new RouteNotFoundException(id));
         foundRoute.setActive(false);
         routeRepository.save(foundRoute);
+        fetchTaskRepository.deleteByRouteId(id);
+        eventPublisher.publishEvent(new RouteStatusChangedEvent(id, false));
     }
 }
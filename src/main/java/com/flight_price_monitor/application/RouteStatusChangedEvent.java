@@ -0,0 +1,6 @@
+package com.flight_price_monitor.application;
+
+import java.util.UUID;
+
+public record RouteStatusChangedEvent(UUID routeId, boolean active) {
+}
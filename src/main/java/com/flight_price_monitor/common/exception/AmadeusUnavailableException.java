@@ -0,0 +1,9 @@
+package com.flight_price_monitor.common.exception;
+
+public class AmadeusUnavailableException extends AmadeusApiException {
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    public AmadeusUnavailableException(String message) {
+        super(message, SERVICE_UNAVAILABLE);
+    }
+}
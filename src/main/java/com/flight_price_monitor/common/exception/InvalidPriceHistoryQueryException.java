@@ -0,0 +1,7 @@
+package com.flight_price_monitor.common.exception;
+
+public class InvalidPriceHistoryQueryException extends RuntimeException {
+    public InvalidPriceHistoryQueryException(String message) {
+        super(message);
+    }
+}
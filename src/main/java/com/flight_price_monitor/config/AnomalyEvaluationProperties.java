@@ -0,0 +1,20 @@
+package com.flight_price_monitor.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "anomaly.evaluation")
+public record AnomalyEvaluationProperties(int queueCapacity, int batchSize, Duration pollTimeout,
+                                          Duration recoveryInterval) {
+    public AnomalyEvaluationProperties {
+        if (queueCapacity < 1)
+            throw new IllegalArgumentException("Anomaly evaluation queue capacity must be at least 1");
+        if (batchSize < 1 || batchSize > queueCapacity)
+            throw new IllegalArgumentException("Anomaly evaluation batch size must be between 1 and the queue capacity");
+        if (pollTimeout == null || pollTimeout.isNegative() || pollTimeout.isZero())
+            throw new IllegalArgumentException("Anomaly evaluation poll timeout must be positive");
+        if (recoveryInterval == null || recoveryInterval.isNegative() || recoveryInterval.isZero())
+            throw new IllegalArgumentException("Anomaly evaluation recovery interval must be positive");
+    }
+}
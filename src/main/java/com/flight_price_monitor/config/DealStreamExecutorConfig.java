@@ -0,0 +1,22 @@
+package com.flight_price_monitor.config;
+
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class DealStreamExecutorConfig {
+
+    // Servlet sends block until the client reads, so every stream gets its own virtual thread instead of sharing a
+    // pooled worker with other streams or with unrelated Reactor work.
+    @Bean(destroyMethod = "dispose")
+    public Scheduler dealStreamScheduler() {
+        return Schedulers.fromExecutorService(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("deal-stream-", 0).factory()),
+                "deal-stream");
+    }
+}
@@ -0,0 +1,15 @@
+package com.flight_price_monitor.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "deals.stream")
+public record DealStreamProperties(int subscriberBuffer, Duration heartbeatInterval) {
+    public DealStreamProperties {
+        if (subscriberBuffer < 1)
+            throw new IllegalArgumentException("Deal stream subscriber buffer must be at least 1");
+        if (heartbeatInterval == null || heartbeatInterval.isNegative() || heartbeatInterval.isZero())
+            throw new IllegalArgumentException("Deal stream heartbeat interval must be positive");
+    }
+}
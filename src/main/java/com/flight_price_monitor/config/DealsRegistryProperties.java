@@ -0,0 +1,13 @@
+package com.flight_price_monitor.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "deals.registry")
+public record DealsRegistryProperties(Duration reconcileInterval) {
+    public DealsRegistryProperties {
+        if (reconcileInterval == null || reconcileInterval.isNegative() || reconcileInterval.isZero())
+            throw new IllegalArgumentException("Deals registry reconcile interval must be positive");
+    }
+}
@@ -0,0 +1,25 @@
+package com.flight_price_monitor.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "fetch.cadence")
+public record FetchCadenceProperties(Duration minInterval, Duration maxInterval, Duration warmupInterval,
+                                     int departureHorizonDays, double volatilityReference,
+                                     Duration volatilityWindow) {
+    public FetchCadenceProperties {
+        if (minInterval == null || minInterval.isNegative() || minInterval.isZero())
+            throw new IllegalArgumentException("Fetch cadence minimum interval must be positive");
+        if (maxInterval == null || maxInterval.compareTo(minInterval) < 0)
+            throw new IllegalArgumentException("Fetch cadence maximum interval can't be below the minimum");
+        if (warmupInterval == null || warmupInterval.isNegative() || warmupInterval.isZero())
+            throw new IllegalArgumentException("Fetch cadence warm-up interval must be positive");
+        if (departureHorizonDays < 1)
+            throw new IllegalArgumentException("Fetch cadence departure horizon must be at least 1 day");
+        if (volatilityReference <= 0)
+            throw new IllegalArgumentException("Fetch cadence volatility reference must be positive");
+        if (volatilityWindow == null || volatilityWindow.isNegative() || volatilityWindow.isZero())
+            throw new IllegalArgumentException("Fetch cadence volatility window must be positive");
+    }
+}
@@ -0,0 +1,23 @@
+package com.flight_price_monitor.config;
+
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class FetchExecutorConfig {
+
+    // The pool size is what bounds concurrent persistence (and JDBC connections), so plain platform threads are
+    // enough: virtual threads in a fixed pool would still be capped at the same count.
+    @Bean(destroyMethod = "dispose")
+    public Scheduler pricePersistenceScheduler(FetchProperties fetchProperties) {
+        return Schedulers.fromExecutorService(
+                Executors.newFixedThreadPool(fetchProperties.persistenceThreads(),
+                        Thread.ofPlatform().name("price-persist-", 0).factory()),
+                "price-persist");
+    }
+}
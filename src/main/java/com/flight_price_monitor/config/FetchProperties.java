@@ -0,0 +1,17 @@
+package com.flight_price_monitor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "fetch")
+public record FetchProperties(int concurrency, int persistenceThreads, int batchSize, int chunkSize) {
+    public FetchProperties {
+        if (concurrency < 1)
+            throw new IllegalArgumentException("Fetch concurrency must be at least 1");
+        if (persistenceThreads < 1)
+            throw new IllegalArgumentException("Fetch persistence threads must be at least 1");
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Fetch batch size must be at least 1");
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("Fetch chunk size must be at least 1");
+    }
+}
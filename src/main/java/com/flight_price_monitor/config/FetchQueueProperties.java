@@ -0,0 +1,28 @@
+package com.flight_price_monitor.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "fetch.queue")
+public record FetchQueueProperties(String nodeId, int workers, Duration pollInterval, Duration leaseDuration,
+                                   Duration heartbeatInterval, int maxAttempts, Duration retryBackoff,
+                                   Duration maxRetryBackoff) {
+    public FetchQueueProperties {
+        if (workers < 0)
+            throw new IllegalArgumentException("Fetch queue workers can't be negative");
+        if (pollInterval == null || pollInterval.isNegative() || pollInterval.isZero())
+            throw new IllegalArgumentException("Fetch queue poll interval must be positive");
+        if (leaseDuration == null || leaseDuration.isNegative() || leaseDuration.isZero())
+            throw new IllegalArgumentException("Fetch task lease duration must be positive");
+        if (heartbeatInterval == null || heartbeatInterval.isNegative() || heartbeatInterval.isZero()
+                || heartbeatInterval.compareTo(leaseDuration) >= 0)
+            throw new IllegalArgumentException("Fetch task heartbeat interval must be positive and below the lease duration");
+        if (maxAttempts < 1)
+            throw new IllegalArgumentException("Fetch task max attempts must be at least 1");
+        if (retryBackoff == null || retryBackoff.isNegative() || retryBackoff.isZero())
+            throw new IllegalArgumentException("Fetch task retry backoff must be positive");
+        if (maxRetryBackoff == null || maxRetryBackoff.compareTo(retryBackoff) < 0)
+            throw new IllegalArgumentException("Fetch task max retry backoff can't be shorter than the retry backoff");
+    }
+}
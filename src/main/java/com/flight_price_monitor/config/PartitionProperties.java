@@ -0,0 +1,29 @@
+package com.flight_price_monitor.config;
+
+import java.time.Duration;
+import java.time.Period;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "storage.partitions")
+public record PartitionProperties(Period interval, int premake, Period retention, ExpiredAction expiredAction,
+                                  Duration lockTimeout, int lockAttempts) {
+    public PartitionProperties {
+        if (interval == null || interval.isNegative() || interval.isZero())
+            throw new IllegalArgumentException("Partition interval must be positive");
+        if (premake < 1)
+            throw new IllegalArgumentException("Partition premake must be at least 1");
+        if (retention == null || retention.isNegative())
+            throw new IllegalArgumentException("Partition retention can't be negative");
+        if (expiredAction == null)
+            throw new IllegalArgumentException("Expired partition action is required");
+        if (lockTimeout == null || lockTimeout.isNegative() || lockTimeout.isZero())
+            throw new IllegalArgumentException("Partition lock timeout must be positive");
+        if (lockAttempts < 1)
+            throw new IllegalArgumentException("Partition lock attempts must be at least 1");
+    }
+
+    public enum ExpiredAction {
+        KEEP, DETACH, DROP
+    }
+}
@@ -0,0 +1,13 @@
+package com.flight_price_monitor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "price-history")
+public record PriceHistoryProperties(int defaultLimit, int maxLimit) {
+    public PriceHistoryProperties {
+        if (maxLimit < 1)
+            throw new IllegalArgumentException("Price history max limit must be at least 1");
+        if (defaultLimit < 1 || defaultLimit > maxLimit)
+            throw new IllegalArgumentException("Price history default limit must be between 1 and the max limit");
+    }
+}
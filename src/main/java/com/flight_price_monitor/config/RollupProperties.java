@@ -0,0 +1,13 @@
+package com.flight_price_monitor.config;
+
+import java.time.Period;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "rollup")
+public record RollupProperties(Period rawRetention) {
+    public RollupProperties {
+        if (rawRetention == null || rawRetention.isNegative() || rawRetention.isZero())
+            throw new IllegalArgumentException("Rollup raw retention must be positive");
+    }
+}
@@ -52,6 +52,30 @@ public final class AnomalyDetector {
         return variance.sqrt(mc).setScale(4, RoundingMode.HALF_UP);
     }
 
+    public static BigDecimal calculateMean(PriceAggregate aggregate) {
+        Objects.requireNonNull(aggregate, "Price aggregate is required");
+        if (aggregate.count() == 0) throw new IllegalArgumentException("Price aggregate can't be empty");
+
+        return aggregate.sum().divide(BigDecimal.valueOf(aggregate.count()), 2, RoundingMode.HALF_UP);
+    }
+
+    public static BigDecimal calculateStandardDeviation(PriceAggregate aggregate, BigDecimal mean) {
+        Objects.requireNonNull(aggregate, "Price aggregate is required");
+        Objects.requireNonNull(mean, "Mean value is required");
+        if (aggregate.count() == 0) throw new IllegalArgumentException("Price aggregate can't be empty");
+
+        long n = aggregate.count();
+        if (n == 1) return BigDecimal.ZERO;
+        MathContext mc = MathContext.DECIMAL128;
+        BigDecimal count = BigDecimal.valueOf(n);
+        // sum of (x - mean)^2 expanded to sum(x^2) - 2 * mean * sum(x) + n * mean^2, exact like the list variant
+        BigDecimal sumOfSquares = aggregate.sumOfSquares()
+                .subtract(mean.multiply(aggregate.sum()).multiply(BigDecimal.TWO))
+                .add(mean.multiply(mean).multiply(count));
+        BigDecimal variance = sumOfSquares.divide(count, mc);
+        return variance.sqrt(mc).setScale(4, RoundingMode.HALF_UP);
+    }
+
     public static Double calculateZScore(BigDecimal currentPrice, BigDecimal mean, BigDecimal stdDev) {
         Objects.requireNonNull(currentPrice, "Current price is required");
         Objects.requireNonNull(mean, "Mean value is required");
@@ -86,6 +110,28 @@ public final class AnomalyDetector {
                 .build();
     }
 
+    public static PriceStatistics buildStatistics(PriceAggregate aggregate, BigDecimal median, BigDecimal currentPrice) {
+        Objects.requireNonNull(aggregate, "Price aggregate is required");
+        Objects.requireNonNull(median, "Median value is required");
+        Objects.requireNonNull(currentPrice, "Current price is required");
+        if (aggregate.count() == 0) throw new IllegalArgumentException("Price aggregate can't be empty");
+
+        BigDecimal mean = calculateMean(aggregate);
+        BigDecimal standardDeviation = calculateStandardDeviation(aggregate, mean);
+        Double zScore = calculateZScore(currentPrice, mean, standardDeviation);
+
+        return PriceStatistics.builder()
+                .mean(mean)
+                .median(median)
+                .standardDeviation(standardDeviation)
+                .min(aggregate.min())
+                .max(aggregate.max())
+                .sampleCount(Math.toIntExact(aggregate.count()))
+                .currentPrice(currentPrice)
+                .zScore(zScore)
+                .build();
+    }
+
     public static boolean isAnomalyByZScore(Double zScore, double threshold) {
         return zScore != null && zScore < -threshold;
     }
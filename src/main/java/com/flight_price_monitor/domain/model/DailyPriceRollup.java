@@ -0,0 +1,61 @@
+package com.flight_price_monitor.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+public record DailyPriceRollup(UUID routeId, LocalDate day, String currency, BigDecimal openPrice,
+                               OffsetDateTime openedAt, BigDecimal closePrice, OffsetDateTime closedAt,
+                               PriceAggregate aggregate, long anomalyCount, PriceQuantileSketch sketch) {
+    public DailyPriceRollup {
+        Objects.requireNonNull(routeId, "Route id is required");
+        Objects.requireNonNull(day, "Day is required");
+        Objects.requireNonNull(aggregate, "Aggregate is required");
+        Objects.requireNonNull(sketch, "Sketch is required");
+        if (aggregate.count() == 0)
+            throw new IllegalArgumentException("Rollup must contain at least one snapshot");
+    }
+
+    public static DailyPriceRollup of(LocalDate day, List<PriceSnapshot> snapshots) {
+        if (snapshots.isEmpty()) throw new IllegalArgumentException("Snapshots list can't be empty");
+
+        PriceSnapshot open = snapshots.getFirst();
+        PriceSnapshot close = open;
+        PriceAggregateAccumulator aggregate = new PriceAggregateAccumulator();
+        PriceQuantileSketch sketch = new PriceQuantileSketch();
+        long anomalyCount = 0;
+        for (PriceSnapshot snapshot : snapshots) {
+            if (!snapshot.routeId().equals(open.routeId()))
+                throw new IllegalArgumentException("Snapshots must belong to one route");
+            if (snapshot.retrievedAt().isBefore(open.retrievedAt())) open = snapshot;
+            if (!snapshot.retrievedAt().isBefore(close.retrievedAt())) close = snapshot;
+            aggregate.add(snapshot.price());
+            sketch.add(snapshot.price());
+            if (snapshot.isAnomaly()) anomalyCount++;
+        }
+        return new DailyPriceRollup(open.routeId(), day, close.currency(), open.price(), open.retrievedAt(),
+                close.price(), close.retrievedAt(), aggregate.toAggregate(), anomalyCount, sketch);
+    }
+
+    public DailyPriceRollup merge(DailyPriceRollup other) {
+        Objects.requireNonNull(other, "Rollup is required");
+        if (!routeId.equals(other.routeId) || !day.equals(other.day))
+            throw new IllegalArgumentException("Only rollups of the same route and day can be merged");
+
+        boolean otherOpensFirst = other.openedAt.isBefore(openedAt);
+        boolean otherClosesLast = !other.closedAt.isBefore(closedAt);
+        PriceQuantileSketch merged = new PriceQuantileSketch();
+        merged.merge(sketch);
+        merged.merge(other.sketch);
+        return new DailyPriceRollup(routeId, day,
+                otherClosesLast ? other.currency : currency,
+                otherOpensFirst ? other.openPrice : openPrice,
+                otherOpensFirst ? other.openedAt : openedAt,
+                otherClosesLast ? other.closePrice : closePrice,
+                otherClosesLast ? other.closedAt : closedAt,
+                aggregate.merge(other.aggregate), anomalyCount + other.anomalyCount, merged);
+    }
+}
@@ -0,0 +1,17 @@
+package com.flight_price_monitor.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+public record DealCandidate(UUID routeId, String origin, String destination, LocalDate departureDate,
+                            PriceAggregate aggregate, BigDecimal currentPrice, String currency,
+                            OffsetDateTime retrievedAt) {
+    public DealCandidate {
+        Objects.requireNonNull(routeId, "Route id is required");
+        Objects.requireNonNull(aggregate, "Price aggregate is required");
+        Objects.requireNonNull(currentPrice, "Current price is required");
+    }
+}
@@ -0,0 +1,20 @@
+package com.flight_price_monitor.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+public record FetchCadenceInput(UUID routeId, LocalDate departureDate, long sampleCount, BigDecimal recentMean,
+                                BigDecimal recentStandardDeviation) {
+    public FetchCadenceInput {
+        Objects.requireNonNull(routeId, "Route id is required");
+        Objects.requireNonNull(departureDate, "Departure date is required");
+        if (sampleCount < 0) throw new IllegalArgumentException("Sample count can't be negative");
+    }
+
+    public double recentCoefficientOfVariation() {
+        if (recentMean == null || recentStandardDeviation == null || recentMean.signum() <= 0) return 0;
+        return recentStandardDeviation.doubleValue() / recentMean.doubleValue();
+    }
+}
@@ -0,0 +1,50 @@
+package com.flight_price_monitor.domain.model;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+public final class FetchCadencePlanner {
+    private final Duration minInterval;
+    private final Duration maxInterval;
+    private final Duration warmupInterval;
+    private final int minSamples;
+    private final int departureHorizonDays;
+    private final double volatilityReference;
+
+    public FetchCadencePlanner(Duration minInterval, Duration maxInterval, Duration warmupInterval, int minSamples,
+                               int departureHorizonDays, double volatilityReference) {
+        this.minInterval = Objects.requireNonNull(minInterval, "Minimum interval is required");
+        this.maxInterval = Objects.requireNonNull(maxInterval, "Maximum interval is required");
+        this.warmupInterval = Objects.requireNonNull(warmupInterval, "Warm-up interval is required");
+        if (minInterval.isNegative() || minInterval.isZero() || minInterval.compareTo(maxInterval) > 0)
+            throw new IllegalArgumentException("Minimum interval must be positive and not above the maximum");
+        if (departureHorizonDays < 1)
+            throw new IllegalArgumentException("Departure horizon must be at least 1 day");
+        if (volatilityReference <= 0)
+            throw new IllegalArgumentException("Volatility reference must be positive");
+        this.minSamples = minSamples;
+        this.departureHorizonDays = departureHorizonDays;
+        this.volatilityReference = volatilityReference;
+    }
+
+    // Starts from the longest interval, shortened linearly inside the departure horizon and divided by
+    // (1 + recent coefficient of variation / reference) for volatile routes.
+    public Duration nextInterval(FetchCadenceInput input, LocalDate today) {
+        if (input.sampleCount() < minSamples) return clamp(warmupInterval);
+
+        long daysToDeparture = ChronoUnit.DAYS.between(today, input.departureDate());
+        if (daysToDeparture < 0) return maxInterval;
+
+        double departureFactor = Math.min(1.0, (double) daysToDeparture / departureHorizonDays);
+        double volatilityFactor = 1 / (1 + input.recentCoefficientOfVariation() / volatilityReference);
+        return clamp(Duration.ofSeconds((long) (maxInterval.toSeconds() * departureFactor * volatilityFactor)));
+    }
+
+    private Duration clamp(Duration interval) {
+        if (interval.compareTo(minInterval) < 0) return minInterval;
+        if (interval.compareTo(maxInterval) > 0) return maxInterval;
+        return interval;
+    }
+}
@@ -0,0 +1,28 @@
+package com.flight_price_monitor.domain.model;
+
+import java.time.Duration;
+import java.util.Objects;
+
+public record FetchRetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+    public FetchRetryPolicy {
+        if (maxAttempts < 1) throw new IllegalArgumentException("Max attempts must be at least 1");
+        Objects.requireNonNull(initialBackoff, "Initial backoff is required");
+        Objects.requireNonNull(maxBackoff, "Max backoff is required");
+        if (initialBackoff.isNegative() || initialBackoff.isZero())
+            throw new IllegalArgumentException("Initial backoff must be positive");
+        if (maxBackoff.compareTo(initialBackoff) < 0)
+            throw new IllegalArgumentException("Max backoff can't be shorter than the initial backoff");
+    }
+
+    public boolean canRetry(int attempts) {
+        return attempts < maxAttempts;
+    }
+
+    public Duration backoff(int attempts) {
+        if (attempts < 1) throw new IllegalArgumentException("Attempts must be at least 1");
+        int doublings = Math.min(attempts - 1, 30);
+        long millis = initialBackoff.toMillis();
+        if (millis > maxBackoff.toMillis() >> doublings) return maxBackoff;
+        return Duration.ofMillis(millis << doublings);
+    }
+}
@@ -0,0 +1,10 @@
+package com.flight_price_monitor.domain.model;
+
+import java.util.Objects;
+
+public record FetchTask(long id, Route route, int attempts) {
+    public FetchTask {
+        Objects.requireNonNull(route, "Route is required");
+        if (attempts < 1) throw new IllegalArgumentException("A claimed task has at least one attempt");
+    }
+}
@@ -0,0 +1,10 @@
+package com.flight_price_monitor.domain.model;
+
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+public record FetchTaskRetry(long taskId, OffsetDateTime retryAt, String error) {
+    public FetchTaskRetry {
+        Objects.requireNonNull(retryAt, "Retry time is required");
+    }
+}
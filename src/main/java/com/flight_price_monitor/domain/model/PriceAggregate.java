@@ -0,0 +1,32 @@
+package com.flight_price_monitor.domain.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+public record PriceAggregate(long count, BigDecimal sum, BigDecimal sumOfSquares, BigDecimal min, BigDecimal max) {
+    public static final PriceAggregate EMPTY = new PriceAggregate(0, BigDecimal.ZERO, BigDecimal.ZERO, null, null);
+
+    public PriceAggregate {
+        if (count < 0)
+            throw new IllegalArgumentException("Sample count can't be negative");
+        Objects.requireNonNull(sum, "Sum is required");
+        Objects.requireNonNull(sumOfSquares, "Sum of squares is required");
+        if (count > 0 && (min == null || max == null))
+            throw new IllegalArgumentException("Min and max are required for a non-empty aggregate");
+    }
+
+    public PriceAggregate add(BigDecimal price) {
+        Objects.requireNonNull(price, "Price is required");
+        return new PriceAggregate(count + 1, sum.add(price), sumOfSquares.add(price.multiply(price)),
+                min == null || price.compareTo(min) < 0 ? price : min,
+                max == null || price.compareTo(max) > 0 ? price : max);
+    }
+
+    public PriceAggregate merge(PriceAggregate other) {
+        Objects.requireNonNull(other, "Aggregate is required");
+        if (other.count == 0) return this;
+        if (count == 0) return other;
+        return new PriceAggregate(count + other.count, sum.add(other.sum), sumOfSquares.add(other.sumOfSquares),
+                min.min(other.min), max.max(other.max));
+    }
+}
@@ -0,0 +1,46 @@
+package com.flight_price_monitor.domain.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+// Builds a PriceAggregate in long cents, one pass and no BigDecimal arithmetic per price. A price that isn't at
+// cent scale, or a total that would overflow, hands the rest over to PriceAggregate.add, so the result always
+// equals folding the same prices with add.
+public final class PriceAggregateAccumulator {
+    private static final int PRICE_SCALE = 2;
+
+    private long count;
+    private long sum;
+    private long sumOfSquares;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+    private PriceAggregate fallback;
+
+    public PriceAggregateAccumulator add(BigDecimal price) {
+        Objects.requireNonNull(price, "Price is required");
+        if (fallback == null && price.scale() == PRICE_SCALE) {
+            try {
+                long cents = price.unscaledValue().longValueExact();
+                long nextSumOfSquares = Math.addExact(sumOfSquares, Math.multiplyExact(cents, cents));
+                sum = Math.addExact(sum, cents);
+                sumOfSquares = nextSumOfSquares;
+                count++;
+                if (cents < min) min = cents;
+                if (cents > max) max = cents;
+                return this;
+            } catch (ArithmeticException e) {
+                // fall through to the BigDecimal fold
+            }
+        }
+        fallback = toAggregate().add(price);
+        return this;
+    }
+
+    public PriceAggregate toAggregate() {
+        if (fallback != null) return fallback;
+        if (count == 0) return PriceAggregate.EMPTY;
+        return new PriceAggregate(count, BigDecimal.valueOf(sum, PRICE_SCALE),
+                BigDecimal.valueOf(sumOfSquares, 2 * PRICE_SCALE),
+                BigDecimal.valueOf(min, PRICE_SCALE), BigDecimal.valueOf(max, PRICE_SCALE));
+    }
+}
@@ -0,0 +1,142 @@
+package com.flight_price_monitor.domain.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes price snapshots as a stream of columnar blocks of up to {@link #BLOCK_SIZE} rows.
+ * <p>
+ * Stream: magic {@code FPX1}, blocks, then a zero row count. Each block: row count, routes and currencies added to
+ * the dictionaries (16-byte UUIDs, 3-byte ASCII codes), then the columns: route index runs, zigzag deltas of epoch
+ * microseconds (from zero at block start), price cents, currency index runs and an anomaly bitset.
+ * All integers are unsigned LEB128 varints.
+ */
+public final class PriceColumnarEncoder {
+    public static final byte[] MAGIC = {'F', 'P', 'X', '1'};
+    public static final int BLOCK_SIZE = 4096;
+
+    private final OutputStream out;
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream(BLOCK_SIZE * 8);
+    private final Map<UUID, Integer> routeDictionary = new HashMap<>();
+    private final Map<String, Integer> currencyDictionary = new HashMap<>();
+    private final List<UUID> newRoutes = new ArrayList<>();
+    private final List<String> newCurrencies = new ArrayList<>();
+    private final int[] routes = new int[BLOCK_SIZE];
+    private final long[] timestamps = new long[BLOCK_SIZE];
+    private final long[] cents = new long[BLOCK_SIZE];
+    private final int[] currencies = new int[BLOCK_SIZE];
+    private final boolean[] anomalies = new boolean[BLOCK_SIZE];
+    private int size;
+    private long rowCount;
+
+    public PriceColumnarEncoder(OutputStream out) {
+        this.out = out;
+        write(MAGIC);
+    }
+
+    public void add(PriceSnapshot snapshot) {
+        routes[size] = routeDictionary.computeIfAbsent(snapshot.routeId(), routeId -> {
+            newRoutes.add(routeId);
+            return routeDictionary.size();
+        });
+        currencies[size] = currencyDictionary.computeIfAbsent(snapshot.currency(), currency -> {
+            newCurrencies.add(currency);
+            return currencyDictionary.size();
+        });
+        timestamps[size] = ChronoUnit.MICROS.between(Instant.EPOCH, snapshot.retrievedAt().toInstant());
+        cents[size] = snapshot.price().movePointRight(2).longValueExact();
+        anomalies[size] = snapshot.isAnomaly();
+        if (++size == BLOCK_SIZE) flushBlock();
+    }
+
+    public long finish() {
+        flushBlock();
+        write(new byte[]{0});
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rowCount;
+    }
+
+    private void flushBlock() {
+        if (size == 0) return;
+
+        block.reset();
+        Varints.writeVarLong(block, size);
+        Varints.writeVarLong(block, newRoutes.size());
+        for (UUID routeId : newRoutes) {
+            block.writeBytes(ByteBuffer.allocate(16)
+                    .putLong(routeId.getMostSignificantBits())
+                    .putLong(routeId.getLeastSignificantBits())
+                    .array());
+        }
+        Varints.writeVarLong(block, newCurrencies.size());
+        for (String currency : newCurrencies) {
+            block.writeBytes(currency.getBytes(StandardCharsets.US_ASCII));
+        }
+        writeRuns(routes);
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            Varints.writeVarLong(block, Varints.zigZag(timestamps[i] - previous));
+            previous = timestamps[i];
+        }
+        for (int i = 0; i < size; i++) {
+            Varints.writeVarLong(block, cents[i]);
+        }
+        writeRuns(currencies);
+        for (int i = 0; i < size; i += 8) {
+            int bits = 0;
+            for (int j = i; j < Math.min(i + 8, size); j++) {
+                if (anomalies[j]) bits |= 1 << (j - i);
+            }
+            block.write(bits);
+        }
+        try {
+            block.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        rowCount += size;
+        size = 0;
+        newRoutes.clear();
+        newCurrencies.clear();
+    }
+
+    private void writeRuns(int[] column) {
+        int runs = 1;
+        for (int i = 1; i < size; i++) {
+            if (column[i] != column[i - 1]) runs++;
+        }
+        Varints.writeVarLong(block, runs);
+        int runStart = 0;
+        for (int i = 1; i <= size; i++) {
+            if (i == size || column[i] != column[runStart]) {
+                Varints.writeVarLong(block, column[runStart]);
+                Varints.writeVarLong(block, i - runStart);
+                runStart = i;
+            }
+        }
+    }
+
+    private void write(byte[] bytes) {
+        try {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
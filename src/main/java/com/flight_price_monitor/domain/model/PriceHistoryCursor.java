@@ -0,0 +1,33 @@
+package com.flight_price_monitor.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+public record PriceHistoryCursor(OffsetDateTime retrievedAt, UUID id) {
+    public PriceHistoryCursor {
+        Objects.requireNonNull(retrievedAt, "Retrieved at is required");
+        Objects.requireNonNull(id, "Snapshot id is required");
+    }
+
+    public static PriceHistoryCursor after(PriceSnapshot snapshot) {
+        return new PriceHistoryCursor(snapshot.retrievedAt(), snapshot.id());
+    }
+
+    public String encode() {
+        String raw = retrievedAt.toInstant() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PriceHistoryCursor decode(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = raw.indexOf('|');
+        if (separator < 0) throw new IllegalArgumentException("Malformed cursor");
+        return new PriceHistoryCursor(Instant.parse(raw.substring(0, separator)).atOffset(ZoneOffset.UTC),
+                UUID.fromString(raw.substring(separator + 1)));
+    }
+}
@@ -0,0 +1,16 @@
+package com.flight_price_monitor.domain.model;
+
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+public record PriceHistoryQuery(UUID routeId, OffsetDateTime since, OffsetDateTime until, PriceHistoryCursor after,
+                                int limit) {
+    public PriceHistoryQuery {
+        Objects.requireNonNull(routeId, "Route id is required");
+        if (limit < 1)
+            throw new IllegalArgumentException("Limit must be at least 1");
+        if (since != null && until != null && !since.isBefore(until))
+            throw new IllegalArgumentException("Since must be before until");
+    }
+}
@@ -0,0 +1,121 @@
+package com.flight_price_monitor.domain.model;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+public final class PriceQuantileSketch {
+    public static final double RELATIVE_ACCURACY = 0.01;
+    public static final int MAX_BINS = 512;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final byte FORMAT_VERSION = 1;
+
+    private long[] counts = new long[0];
+    private int minIndex;
+    private long count;
+
+    public static PriceQuantileSketch of(Iterable<BigDecimal> prices) {
+        PriceQuantileSketch sketch = new PriceQuantileSketch();
+        prices.forEach(sketch::add);
+        return sketch;
+    }
+
+    public void add(BigDecimal price) {
+        Objects.requireNonNull(price, "Price is required");
+        if (price.signum() <= 0) throw new IllegalArgumentException("Price must be positive");
+        addToBin(indexOf(price.doubleValue()), 1);
+    }
+
+    public void merge(PriceQuantileSketch other) {
+        Objects.requireNonNull(other, "Sketch is required");
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] > 0) {
+                addToBin(other.minIndex + i, other.counts[i]);
+            }
+        }
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public BigDecimal quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        if (count == 0) throw new IllegalStateException("Sketch is empty");
+
+        double rank = quantile * (count - 1);
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative > rank) {
+                return BigDecimal.valueOf(valueOf(minIndex + i)).setScale(2, RoundingMode.HALF_UP);
+            }
+        }
+        return BigDecimal.valueOf(valueOf(minIndex + counts.length - 1)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + counts.length * 2);
+        out.write(FORMAT_VERSION);
+        Varints.writeVarLong(out, Varints.zigZag(minIndex));
+        Varints.writeVarLong(out, counts.length);
+        for (long binCount : counts) {
+            Varints.writeVarLong(out, binCount);
+        }
+        return out.toByteArray();
+    }
+
+    public static PriceQuantileSketch fromBytes(byte[] bytes) {
+        Objects.requireNonNull(bytes, "Sketch bytes are required");
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.get() != FORMAT_VERSION) throw new IllegalArgumentException("Unsupported sketch format");
+
+        PriceQuantileSketch sketch = new PriceQuantileSketch();
+        sketch.minIndex = (int) Varints.unZigZag(Varints.readVarLong(buffer));
+        int bins = (int) Varints.readVarLong(buffer);
+        if (bins > MAX_BINS) throw new IllegalArgumentException("Sketch has too many bins");
+        sketch.counts = new long[bins];
+        for (int i = 0; i < bins; i++) {
+            sketch.counts[i] = Varints.readVarLong(buffer);
+            sketch.count += sketch.counts[i];
+        }
+        return sketch;
+    }
+
+    private static int indexOf(double value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    private static double valueOf(int index) {
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+
+    // Bins beyond MAX_BINS are folded into the lowest bin, so only the lowest quantiles lose accuracy.
+    private void addToBin(int index, long binCount) {
+        if (counts.length == 0) {
+            counts = new long[1];
+            minIndex = index;
+        } else if (index < minIndex) {
+            int maxIndex = minIndex + counts.length - 1;
+            int newMinIndex = Math.max(index, maxIndex - MAX_BINS + 1);
+            long[] grown = new long[maxIndex - newMinIndex + 1];
+            System.arraycopy(counts, 0, grown, minIndex - newMinIndex, counts.length);
+            counts = grown;
+            minIndex = newMinIndex;
+        } else if (index >= minIndex + counts.length) {
+            int newMinIndex = Math.max(minIndex, index - MAX_BINS + 1);
+            long[] grown = new long[index - newMinIndex + 1];
+            for (int i = 0; i < counts.length; i++) {
+                grown[Math.max(minIndex + i - newMinIndex, 0)] += counts[i];
+            }
+            counts = grown;
+            minIndex = newMinIndex;
+        }
+        counts[Math.max(index - minIndex, 0)] += binCount;
+        count += binCount;
+    }
+}
@@ -0,0 +1,6 @@
+package com.flight_price_monitor.domain.model;
+
+import java.time.OffsetDateTime;
+
+public record TimePartition(String name, OffsetDateTime from, OffsetDateTime to) {
+}
@@ -0,0 +1,36 @@
+package com.flight_price_monitor.infrastructure.amadeus;
+
+import com.flight_price_monitor.common.exception.AmadeusUnavailableException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class AmadeusBulkhead {
+    private final Semaphore permits;
+    private final LongAdder rejected = new LongAdder();
+
+    public AmadeusBulkhead(AmadeusBulkheadProperties props) {
+        this.permits = new Semaphore(props.maxConcurrentCalls());
+    }
+
+    public <T> Mono<T> limit(Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!permits.tryAcquire()) {
+                rejected.increment();
+                return Mono.error(new AmadeusUnavailableException("Too many concurrent Amadeus calls"));
+            }
+            return call.doFinally(signal -> permits.release());
+        });
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+}
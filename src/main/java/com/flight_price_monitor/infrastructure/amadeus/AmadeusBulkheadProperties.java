@@ -0,0 +1,11 @@
+package com.flight_price_monitor.infrastructure.amadeus;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "amadeus.bulkhead")
+public record AmadeusBulkheadProperties(int maxConcurrentCalls) {
+    public AmadeusBulkheadProperties {
+        if (maxConcurrentCalls < 1)
+            throw new IllegalArgumentException("Bulkhead max concurrent calls must be at least 1");
+    }
+}
@@ -0,0 +1,154 @@
+package com.flight_price_monitor.infrastructure.amadeus;
+
+import com.flight_price_monitor.common.exception.AmadeusApiException;
+import com.flight_price_monitor.common.exception.AmadeusUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.function.LongSupplier;
+
+@Component
+public class AmadeusCircuitBreaker {
+    private static final Logger log = LoggerFactory.getLogger(AmadeusCircuitBreaker.class);
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final AmadeusCircuitBreakerProperties props;
+    private final LongSupplier nanoClock;
+    private final boolean[] outcomes;
+
+    private State state = State.CLOSED;
+    private int windowPosition;
+    private int windowCalls;
+    private int windowFailures;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+    private long transitions;
+    private long rejected;
+
+    @Autowired
+    public AmadeusCircuitBreaker(AmadeusCircuitBreakerProperties props) {
+        this(props, System::nanoTime);
+    }
+
+    AmadeusCircuitBreaker(AmadeusCircuitBreakerProperties props, LongSupplier nanoClock) {
+        this.props = props;
+        this.nanoClock = nanoClock;
+        this.outcomes = new boolean[props.slidingWindowSize()];
+    }
+
+    public <T> Mono<T> protect(Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!tryAcquirePermission()) {
+                return Mono.error(new AmadeusUnavailableException("Amadeus circuit breaker is open"));
+            }
+            return call
+                    .doOnSuccess(response -> onSuccess())
+                    .doOnError(this::onError)
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) releasePermission();
+                    });
+        });
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public synchronized long transitionCount() {
+        return transitions;
+    }
+
+    public synchronized long rejectedCount() {
+        return rejected;
+    }
+
+    synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < props.openDuration().toNanos()) {
+                rejected++;
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits >= props.halfOpenCalls()) {
+                rejected++;
+                return false;
+            }
+            halfOpenPermits++;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.CLOSED) {
+            record(false);
+        } else if (state == State.HALF_OPEN && ++halfOpenSuccesses >= props.halfOpenCalls()) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    synchronized void onFailure() {
+        if (state == State.CLOSED) {
+            record(true);
+            if (windowCalls >= props.minimumCalls()
+                    && windowFailures >= props.failureRateThreshold() * windowCalls) {
+                transitionTo(State.OPEN);
+            }
+        } else if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermits > halfOpenSuccesses) {
+            halfOpenPermits--;
+        }
+    }
+
+    // Client errors mean Amadeus answered, so only outages, timeouts and exhausted 429 retries count as failures.
+    private void onError(Throwable error) {
+        if (error instanceof AmadeusUnavailableException) {
+            releasePermission();
+        } else if (error instanceof AmadeusApiException ex
+                && ex.getStatusCode() < 500 && ex.getStatusCode() != TOO_MANY_REQUESTS) {
+            onSuccess();
+        } else {
+            onFailure();
+        }
+    }
+
+    private void record(boolean failure) {
+        if (windowCalls == outcomes.length) {
+            if (outcomes[windowPosition]) windowFailures--;
+        } else {
+            windowCalls++;
+        }
+        outcomes[windowPosition] = failure;
+        if (failure) windowFailures++;
+        windowPosition = (windowPosition + 1) % outcomes.length;
+    }
+
+    private void transitionTo(State next) {
+        log.warn("Amadeus circuit breaker {} -> {} ({} of the last {} calls failed)",
+                state, next, windowFailures, windowCalls);
+        state = next;
+        transitions++;
+        halfOpenPermits = 0;
+        halfOpenSuccesses = 0;
+        if (next == State.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+        } else if (next == State.CLOSED) {
+            windowPosition = 0;
+            windowCalls = 0;
+            windowFailures = 0;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.flight_price_monitor.infrastructure.amadeus;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "amadeus.circuit-breaker")
+public record AmadeusCircuitBreakerProperties(double failureRateThreshold, int slidingWindowSize, int minimumCalls,
+                                              Duration openDuration, int halfOpenCalls) {
+    public AmadeusCircuitBreakerProperties {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1)
+            throw new IllegalArgumentException("Circuit breaker failure rate threshold must be between 0 and 1");
+        if (slidingWindowSize < 1)
+            throw new IllegalArgumentException("Circuit breaker sliding window size must be at least 1");
+        if (minimumCalls < 1 || minimumCalls > slidingWindowSize)
+            throw new IllegalArgumentException("Circuit breaker minimum calls must be between 1 and the window size");
+        if (openDuration == null || openDuration.isNegative() || openDuration.isZero())
+            throw new IllegalArgumentException("Circuit breaker open duration must be positive");
+        if (halfOpenCalls < 1)
+            throw new IllegalArgumentException("Circuit breaker half-open calls must be at least 1");
+    }
+}
@@ -2,9 +2,12 @@ package com.flight_price_monitor.infrastructure.amadeus;
 
 import com.flight_price_monitor.common.exception.AmadeusApiException;
 import com.flight_price_monitor.infrastructure.amadeus.dto.AmadeusFlightOffersResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
@@ -15,53 +18,91 @@ import java.time.LocalDate;
 @Component
 public class AmadeusClient {
     private static final Logger log = LoggerFactory.getLogger(AmadeusClient.class);
+    private static final String REQUEST_TIMER = "amadeus.requests";
     AmadeusProperties props;
     WebClient webClient;
     OAuthTokenProvider tokenProvider;
+    AmadeusRateLimiter rateLimiter;
+    AmadeusResponseCache responseCache;
+    AmadeusCircuitBreaker circuitBreaker;
+    AmadeusBulkhead bulkhead;
+    MeterRegistry meterRegistry;
 
-    public AmadeusClient(AmadeusProperties props, WebClient webClient, OAuthTokenProvider tokenProvider) {
+    public AmadeusClient(AmadeusProperties props, WebClient webClient, OAuthTokenProvider tokenProvider,
+                         AmadeusRateLimiter rateLimiter, AmadeusResponseCache responseCache,
+                         AmadeusCircuitBreaker circuitBreaker, AmadeusBulkhead bulkhead,
+                         MeterRegistry meterRegistry) {
         this.props = props;
         this.webClient = webClient;
         this.tokenProvider = tokenProvider;
+        this.rateLimiter = rateLimiter;
+        this.responseCache = responseCache;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.meterRegistry = meterRegistry;
     }
 
-    public FlightPrice getLowestPrice(String origin, String destination, LocalDate departureDate) {
-        String token = tokenProvider.getToken();
-        AmadeusFlightOffersResponse response = webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path(props.getFlightOffersUrl())
-                        .queryParam("originLocationCode", origin)
-                        .queryParam("destinationLocationCode", destination)
-                        .queryParam("departureDate", departureDate)
-                        .queryParam("adults", 1)
-                        .queryParam("nonStop", false)
-                        .queryParam("max", 1)
-                        .queryParam("currencyCode", "EUR")
-                        .build()
-                ).headers(h -> h.setBearerAuth(token))
-                .retrieve()
-                .onStatus(HttpStatusCode::isError, res ->
-                        res.bodyToMono(String.class)
-                                .flatMap(errorBody -> Mono.error(
-                                        new AmadeusApiException("Fetching offer error" + errorBody, res.statusCode().value()))
-                                )
-                )
-                .bodyToMono(AmadeusFlightOffersResponse.class)
+    public Mono<FlightPrice> fetchLowestPrice(String origin, String destination, LocalDate departureDate) {
+        return responseCache.get(new FlightQuery(origin, destination, departureDate),
+                () -> circuitBreaker.protect(requestLowestPrice(origin, destination, departureDate)));
+    }
+
+    private Mono<FlightPrice> requestLowestPrice(String origin, String destination, LocalDate departureDate) {
+        return tokenProvider.token()
+                .flatMap(token -> rateLimiter.throttle(bulkhead.limit(timed(webClient.get()
+                        .uri(uriBuilder -> uriBuilder
+                                .path(props.getFlightOffersUrl())
+                                .queryParam("originLocationCode", origin)
+                                .queryParam("destinationLocationCode", destination)
+                                .queryParam("departureDate", departureDate)
+                                .queryParam("adults", 1)
+                                .queryParam("nonStop", false)
+                                .queryParam("max", 1)
+                                .queryParam("currencyCode", "EUR")
+                                .build()
+                        ).headers(h -> h.setBearerAuth(token))
+                        .retrieve()
+                        .onStatus(HttpStatusCode::isError, res ->
+                                res.bodyToMono(String.class)
+                                        .flatMap(errorBody -> Mono.error(
+                                                new AmadeusApiException("Fetching offer error" + errorBody, res.statusCode().value()))
+                                        )
+                        )
+                        .toEntity(AmadeusFlightOffersResponse.class)))))
+                .mapNotNull(ResponseEntity::getBody)
+                .switchIfEmpty(Mono.error(() -> new AmadeusApiException("Empty flight offers response", 502)))
                 .flatMap(res -> {
                     if (res.data() == null || res.data().isEmpty()) {
                         return Mono.error(new AmadeusApiException("No flights found for given criteria", 404));
                     }
                     return Mono.just(res);
                 })
-                .block();
+                .map(response -> {
+                    var firstOfferPrice = response.data().getFirst().price();
 
-        var firstOfferPrice = response.data().getFirst().price();
+                    BigDecimal price = new BigDecimal(firstOfferPrice.grandTotal());
+                    String currency = firstOfferPrice.currency();
 
-        BigDecimal price = new BigDecimal(firstOfferPrice.grandTotal());
-        String currency = firstOfferPrice.currency();
+                    log.info("Found lowest price: {} {}", price, currency);
+                    return new FlightPrice(price, currency);
+                });
+    }
 
-        log.info("Found lowest price: {} {}", price, currency);
-        return new FlightPrice(price, currency);
+    private Mono<ResponseEntity<AmadeusFlightOffersResponse>> timed(Mono<ResponseEntity<AmadeusFlightOffersResponse>> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call
+                    .doOnNext(response -> sample.stop(requestTimer(String.valueOf(response.getStatusCode().value()))))
+                    .doOnError(error -> sample.stop(requestTimer(error instanceof AmadeusApiException ex
+                            ? String.valueOf(ex.getStatusCode()) : "IO_ERROR")));
+        });
     }
 
+    private Timer requestTimer(String status) {
+        return Timer.builder(REQUEST_TIMER)
+                .description("Amadeus flight offer HTTP calls")
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 }
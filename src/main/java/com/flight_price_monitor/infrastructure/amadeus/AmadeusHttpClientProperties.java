@@ -0,0 +1,30 @@
+package com.flight_price_monitor.infrastructure.amadeus;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "amadeus.http")
+public record AmadeusHttpClientProperties(Duration connectTimeout, Duration readTimeout, int maxConnections,
+                                          int pendingAcquireMaxCount, Duration pendingAcquireTimeout,
+                                          Duration maxIdleTime, Duration maxLifeTime, Duration evictionInterval,
+                                          boolean keepAlive, boolean compress, boolean http2) {
+    public AmadeusHttpClientProperties {
+        requirePositive(connectTimeout, "connect timeout");
+        requirePositive(readTimeout, "read timeout");
+        if (maxConnections < 1)
+            throw new IllegalArgumentException("HTTP pool max connections must be at least 1");
+        if (pendingAcquireMaxCount < -1 || pendingAcquireMaxCount == 0)
+            throw new IllegalArgumentException("HTTP pool pending acquire max count must be positive or -1 (unbounded)");
+        requirePositive(pendingAcquireTimeout, "pending acquire timeout");
+        requirePositive(maxIdleTime, "max idle time");
+        requirePositive(maxLifeTime, "max life time");
+        if (evictionInterval == null || evictionInterval.isNegative())
+            throw new IllegalArgumentException("HTTP pool eviction interval can't be negative");
+    }
+
+    private static void requirePositive(Duration duration, String name) {
+        if (duration == null || duration.isNegative() || duration.isZero())
+            throw new IllegalArgumentException("HTTP " + name + " must be positive");
+    }
+}
@@ -0,0 +1,22 @@
+package com.flight_price_monitor.infrastructure.amadeus;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "amadeus.rate-limit")
+public record AmadeusRateLimitProperties(double permitsPerSecond, int burst, double minPermitsPerSecond,
+                                         double decreaseFactor, double increaseStep, int maxThrottleRetries) {
+    public AmadeusRateLimitProperties {
+        if (permitsPerSecond <= 0)
+            throw new IllegalArgumentException("Rate limit permits per second must be positive");
+        if (burst < 1)
+            throw new IllegalArgumentException("Rate limit burst must be at least 1");
+        if (minPermitsPerSecond <= 0 || minPermitsPerSecond > permitsPerSecond)
+            throw new IllegalArgumentException("Rate limit minimum must be positive and not above permits per second");
+        if (decreaseFactor <= 0 || decreaseFactor >= 1)
+            throw new IllegalArgumentException("Rate limit decrease factor must be between 0 and 1");
+        if (increaseStep < 0)
+            throw new IllegalArgumentException("Rate limit increase step can't be negative");
+        if (maxThrottleRetries < 0)
+            throw new IllegalArgumentException("Rate limit throttle retries can't be negative");
+    }
+}
@@ -0,0 +1,101 @@
+package com.flight_price_monitor.infrastructure.amadeus;
+
+import com.flight_price_monitor.common.exception.AmadeusApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+@Component
+public class AmadeusRateLimiter {
+    private static final Logger log = LoggerFactory.getLogger(AmadeusRateLimiter.class);
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long DECREASE_COOLDOWN_NANOS = NANOS_PER_SECOND;
+
+    private final AmadeusRateLimitProperties props;
+    private final LongSupplier nanoClock;
+
+    private double permitsPerSecond;
+    private double availableTokens;
+    private long lastRefillNanos;
+    private long lastDecreaseNanos;
+
+    @Autowired
+    public AmadeusRateLimiter(AmadeusRateLimitProperties props) {
+        this(props, System::nanoTime);
+    }
+
+    AmadeusRateLimiter(AmadeusRateLimitProperties props, LongSupplier nanoClock) {
+        this.props = props;
+        this.nanoClock = nanoClock;
+        this.permitsPerSecond = props.permitsPerSecond();
+        this.availableTokens = props.burst();
+        this.lastRefillNanos = nanoClock.getAsLong();
+        this.lastDecreaseNanos = lastRefillNanos - DECREASE_COOLDOWN_NANOS;
+    }
+
+    public <T> Mono<T> throttle(Mono<T> request) {
+        return Mono.defer(() -> {
+                    long waitNanos = reserve();
+                    Mono<T> call = request
+                            .doOnSuccess(response -> onResponse())
+                            .doOnError(this::onError);
+                    return waitNanos == 0 ? call : Mono.delay(Duration.ofNanos(waitNanos)).then(call);
+                })
+                .retryWhen(Retry.max(props.maxThrottleRetries())
+                        .filter(AmadeusRateLimiter::isThrottled)
+                        .doBeforeRetry(signal -> log.info("Amadeus throttled the request, retry {} at {} requests/s",
+                                signal.totalRetries() + 1, currentPermitsPerSecond())));
+    }
+
+    public synchronized double currentPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    synchronized long reserve() {
+        refill(nanoClock.getAsLong());
+        availableTokens -= 1;
+        if (availableTokens >= 0) return 0;
+        return (long) Math.ceil(-availableTokens * NANOS_PER_SECOND / permitsPerSecond);
+    }
+
+    synchronized void onResponse() {
+        permitsPerSecond = Math.min(props.permitsPerSecond(), permitsPerSecond + props.increaseStep());
+    }
+
+    synchronized void onThrottled() {
+        long now = nanoClock.getAsLong();
+        refill(now);
+        availableTokens = Math.min(availableTokens, 0);
+        if (now - lastDecreaseNanos < DECREASE_COOLDOWN_NANOS) return;
+
+        lastDecreaseNanos = now;
+        permitsPerSecond = Math.max(props.minPermitsPerSecond(), permitsPerSecond * props.decreaseFactor());
+        log.warn("Amadeus returned 429, lowering request rate to {} requests/s", permitsPerSecond);
+    }
+
+    private void onError(Throwable error) {
+        if (isThrottled(error)) {
+            onThrottled();
+        } else if (error instanceof AmadeusApiException ex && ex.getStatusCode() < 500) {
+            onResponse();
+        }
+    }
+
+    private void refill(long now) {
+        double elapsedSeconds = (now - lastRefillNanos) / (double) NANOS_PER_SECOND;
+        availableTokens = Math.min(props.burst(), availableTokens + elapsedSeconds * permitsPerSecond);
+        lastRefillNanos = now;
+    }
+
+    private static boolean isThrottled(Throwable error) {
+        return error instanceof AmadeusApiException ex && ex.getStatusCode() == TOO_MANY_REQUESTS;
+    }
+}
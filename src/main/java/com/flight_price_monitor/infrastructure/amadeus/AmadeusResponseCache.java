@@ -0,0 +1,80 @@
+package com.flight_price_monitor.infrastructure.amadeus;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+@Component
+public class AmadeusResponseCache {
+    static final String HITS_COUNTER = "amadeus.cache.hits";
+    static final String MISSES_COUNTER = "amadeus.cache.misses";
+
+    private final ConcurrentHashMap<FlightQuery, CachedPrice> entries = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public AmadeusResponseCache(AmadeusResponseCacheProperties props, MeterRegistry meterRegistry) {
+        this(props, meterRegistry, System::nanoTime);
+    }
+
+    AmadeusResponseCache(AmadeusResponseCacheProperties props, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.ttlNanos = props.ttl().toNanos();
+        this.nanoClock = nanoClock;
+        this.hits = Counter.builder(HITS_COUNTER)
+                .description("Amadeus price lookups served from the response cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder(MISSES_COUNTER)
+                .description("Amadeus price lookups that went to the API")
+                .register(meterRegistry);
+    }
+
+    public Mono<FlightPrice> get(FlightQuery query, Supplier<Mono<FlightPrice>> loader) {
+        return Mono.defer(() -> {
+            long now = nanoClock.getAsLong();
+            CachedPrice candidate = new CachedPrice(Mono.defer(loader).cache(), now + ttlNanos);
+            CachedPrice cached = entries.merge(query, candidate,
+                    (current, fresh) -> current.isExpired(now) ? fresh : current);
+
+            if (cached == candidate) {
+                misses.increment();
+            } else {
+                hits.increment();
+            }
+            return cached.price().doOnError(e -> entries.remove(query, cached));
+        });
+    }
+
+    public long hitCount() {
+        return (long) hits.count();
+    }
+
+    public long missCount() {
+        return (long) misses.count();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Scheduled(fixedDelayString = "${amadeus.response-cache.eviction-interval}")
+    public void evictExpired() {
+        long now = nanoClock.getAsLong();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    private record CachedPrice(Mono<FlightPrice> price, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
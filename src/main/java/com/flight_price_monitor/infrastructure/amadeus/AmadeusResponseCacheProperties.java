@@ -0,0 +1,13 @@
+package com.flight_price_monitor.infrastructure.amadeus;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "amadeus.response-cache")
+public record AmadeusResponseCacheProperties(Duration ttl, Duration evictionInterval) {
+    public AmadeusResponseCacheProperties {
+        if (ttl == null || ttl.isNegative())
+            throw new IllegalArgumentException("Response cache TTL can't be negative");
+    }
+}
@@ -0,0 +1,6 @@
+package com.flight_price_monitor.infrastructure.amadeus;
+
+import java.time.LocalDate;
+
+public record FlightQuery(String origin, String destination, LocalDate departureDate) {
+}
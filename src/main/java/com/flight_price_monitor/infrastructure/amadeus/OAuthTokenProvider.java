@@ -2,6 +2,8 @@ package com.flight_price_monitor.infrastructure.amadeus;
 
 import com.flight_price_monitor.common.exception.AmadeusApiException;
 import com.flight_price_monitor.infrastructure.amadeus.dto.AmadeusTokenResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
@@ -13,14 +15,39 @@ import java.time.Duration;
 
 @Component
 public class OAuthTokenProvider {
+    private static final String REFRESH_TIMER = "amadeus.token.refresh";
+
     private final AmadeusProperties amadeusProperties;
     private final WebClient webClient;
     private final Mono<String> tokenCache;
 
-    public OAuthTokenProvider(WebClient webClient, AmadeusProperties amadeusProperties) {
+    public OAuthTokenProvider(WebClient webClient, AmadeusProperties amadeusProperties, MeterRegistry meterRegistry) {
         this.webClient = webClient;
         this.amadeusProperties = amadeusProperties;
-        this.tokenCache = webClient.post()
+        Timer refreshed = refreshTimer(meterRegistry, "success");
+        Timer failed = refreshTimer(meterRegistry, "error");
+        this.tokenCache = Mono.defer(() -> {
+                    Timer.Sample sample = Timer.start(meterRegistry);
+                    return requestToken(webClient, amadeusProperties)
+                            .doOnSuccess(response -> sample.stop(refreshed))
+                            .doOnError(error -> sample.stop(failed));
+                })
+                .cache(
+                        response -> Duration.ofSeconds(response.expiresIn() - 60),
+                        error -> Duration.ZERO,
+                        () -> Duration.ZERO
+                )
+                .map(AmadeusTokenResponse::accessToken)
+                .onErrorMap(e -> !(e instanceof AmadeusApiException),
+                        e -> new AmadeusApiException("Amadeus network error", e, 500));
+    }
+
+    public Mono<String> token() {
+        return tokenCache;
+    }
+
+    private static Mono<AmadeusTokenResponse> requestToken(WebClient webClient, AmadeusProperties amadeusProperties) {
+        return webClient.post()
                 .uri(amadeusProperties.getTokenUrl())
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                 .body(BodyInserters.fromFormData("grant_type", "client_credentials")
@@ -33,19 +60,13 @@ public class OAuthTokenProvider {
                                         new AmadeusApiException("Fetching token error" + errorBody, res.statusCode().value()))
                                 )
                 )
-                .bodyToMono(AmadeusTokenResponse.class)
-                .cache(
-                        response -> Duration.ofSeconds(response.expiresIn() - 60),
-                        error -> Duration.ZERO,
-                        () -> Duration.ZERO
-                )
-                .map(AmadeusTokenResponse::accessToken)
-                .onErrorMap(e -> !(e instanceof AmadeusApiException),
-                        e -> new AmadeusApiException("Amadeus network error", e, 500));
+                .bodyToMono(AmadeusTokenResponse.class);
     }
 
-    public String getToken() {
-        return tokenCache.block();
+    private static Timer refreshTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(REFRESH_TIMER)
+                .description("Amadeus OAuth2 token requests")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
-
 }
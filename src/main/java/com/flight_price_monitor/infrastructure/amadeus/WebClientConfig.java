@@ -6,18 +6,39 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class WebClientConfig {
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider amadeusConnectionProvider(AmadeusHttpClientProperties http) {
+        return ConnectionProvider.builder("amadeus")
+                .maxConnections(http.maxConnections())
+                .pendingAcquireMaxCount(http.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(http.pendingAcquireTimeout())
+                .maxIdleTime(http.maxIdleTime())
+                .maxLifeTime(http.maxLifeTime())
+                .evictInBackground(http.evictionInterval())
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient amadeusWebClient(AmadeusProperties props) {
-        HttpClient httpClient = HttpClient.create()
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000)
-                .doOnConnected(connection -> connection.addHandlerLast(new ReadTimeoutHandler(30)));
+    public WebClient amadeusWebClient(AmadeusProperties props, AmadeusHttpClientProperties http,
+                                      ConnectionProvider amadeusConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(amadeusConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(http.connectTimeout().toMillis()))
+                .doOnConnected(connection -> connection.addHandlerLast(
+                        new ReadTimeoutHandler(http.readTimeout().toMillis(), TimeUnit.MILLISECONDS)))
+                .keepAlive(http.keepAlive())
+                .compress(http.compress());
+        if (http.http2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
         return WebClient.builder().baseUrl(props.baseUrl()).clientConnector(new ReactorClientHttpConnector(httpClient)).build();
     }
 }
-
-
-
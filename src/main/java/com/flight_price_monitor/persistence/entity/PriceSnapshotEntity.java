@@ -36,10 +36,8 @@ import lombok.Setter;
 @Table(name = "price_snapshot", indexes = {
         @Index(name = "idx_price_snapshot_is_anomaly",
                 columnList = "route_id"),
-        @Index(name = "idx_price_snapshot_route_id",
-                columnList = "route_id"),
-        @Index(name = "idx_price_snapshot_retrieved_at",
-                columnList = "retrieved_at")})
+        @Index(name = "idx_price_snapshot_route_id_retrieved_at_id",
+                columnList = "route_id, retrieved_at DESC, id DESC")})
 @NoArgsConstructor
 @AllArgsConstructor
 public class PriceSnapshotEntity {
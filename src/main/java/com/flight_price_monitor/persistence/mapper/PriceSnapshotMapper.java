@@ -18,6 +18,16 @@ public class PriceSnapshotMapper {
         );
     }
 
+    public PriceSnapshotResponse toResponse(PriceSnapshot snapshot) {
+        return new PriceSnapshotResponse(
+                snapshot.id(),
+                snapshot.price(),
+                snapshot.currency(),
+                snapshot.retrievedAt(),
+                snapshot.isAnomaly()
+        );
+    }
+
     public PriceSnapshot toDomain(PriceSnapshotEntity entity) {
         return new PriceSnapshot(
                 entity.getId(),
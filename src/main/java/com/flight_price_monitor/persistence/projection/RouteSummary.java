@@ -0,0 +1,7 @@
+package com.flight_price_monitor.persistence.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record RouteSummary(UUID id, String origin, String destination, LocalDate departureDate) {
+}
@@ -0,0 +1,76 @@
+package com.flight_price_monitor.persistence.repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.flight_price_monitor.domain.model.PriceSnapshot;
+
+@Repository
+public class AnomalyEvaluationBacklogRepository {
+    private static final String INSERT = """
+            INSERT INTO anomaly_evaluation_backlog (snapshot_id, route_id, retrieved_at, queued_at)
+            VALUES (?, ?, ?, CURRENT_TIMESTAMP)
+            """;
+    private static final String DELETE = "DELETE FROM anomaly_evaluation_backlog WHERE snapshot_id = ?";
+    private static final String CLAIM_STALE = """
+            UPDATE anomaly_evaluation_backlog b
+            SET queued_at = :now
+            FROM price_snapshot p
+            WHERE b.snapshot_id IN (
+                SELECT sb.snapshot_id
+                FROM anomaly_evaluation_backlog sb
+                JOIN price_snapshot sp ON sp.id = sb.snapshot_id AND sp.retrieved_at = sb.retrieved_at
+                WHERE sb.queued_at < :staleBefore
+                ORDER BY sb.queued_at
+                LIMIT :limit
+                FOR UPDATE OF sb SKIP LOCKED
+            )
+              AND p.id = b.snapshot_id
+              AND p.retrieved_at = b.retrieved_at
+            RETURNING p.id, p.route_id, p.price, p.currency, p.retrieved_at, p.is_anomaly
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public AnomalyEvaluationBacklogRepository(JdbcTemplate jdbcTemplate,
+                                              NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public void addAll(List<PriceSnapshot> snapshots) {
+        if (snapshots.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(INSERT, snapshots, snapshots.size(), (ps, snapshot) -> {
+            ps.setObject(1, snapshot.id());
+            ps.setObject(2, snapshot.routeId());
+            ps.setObject(3, snapshot.retrievedAt());
+        });
+    }
+
+    public void removeAll(List<PriceSnapshot> snapshots) {
+        if (snapshots.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(DELETE, snapshots, snapshots.size(), (ps, snapshot) -> ps.setObject(1, snapshot.id()));
+    }
+
+    // Claimed rows count as queued again from now, so the next sweep doesn't hand out the same snapshots twice.
+    public List<PriceSnapshot> claimStale(OffsetDateTime staleBefore, OffsetDateTime now, int limit) {
+        return namedParameterJdbcTemplate.query(CLAIM_STALE,
+                Map.of("staleBefore", staleBefore, "now", now, "limit", limit),
+                (rs, rowNum) -> new PriceSnapshot(
+                        rs.getObject("id", UUID.class),
+                        rs.getObject("route_id", UUID.class),
+                        rs.getBigDecimal("price"),
+                        rs.getString("currency"),
+                        rs.getObject("retrieved_at", OffsetDateTime.class),
+                        rs.getBoolean("is_anomaly")));
+    }
+}
@@ -0,0 +1,182 @@
+package com.flight_price_monitor.persistence.repository;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import com.flight_price_monitor.domain.model.FetchTask;
+import com.flight_price_monitor.domain.model.FetchTaskRetry;
+import com.flight_price_monitor.domain.model.Route;
+
+@Repository
+public class FetchTaskRepository {
+    public static final String PENDING = "PENDING";
+    public static final String RUNNING = "RUNNING";
+    public static final String FAILED = "FAILED";
+
+    private static final String ENQUEUE_DUE = """
+            INSERT INTO fetch_task AS t (route_id, available_at)
+            SELECT id, :now
+            FROM route
+            WHERE active
+              AND next_fetch_at <= :dueBy
+              AND departure_date >= :today
+            ON CONFLICT (route_id) DO UPDATE SET
+                status = 'PENDING', attempts = 0, available_at = EXCLUDED.available_at, last_error = NULL
+            WHERE t.status = 'FAILED'
+            """;
+    private static final String CLAIM = """
+            UPDATE fetch_task t
+            SET status = 'RUNNING', attempts = t.attempts + 1, lease_owner = :owner, lease_expires_at = :expiresAt
+            FROM route r
+            WHERE r.id = t.route_id
+              AND t.id IN (
+                SELECT ft.id
+                FROM fetch_task ft
+                JOIN route ar ON ar.id = ft.route_id
+                WHERE ar.active
+                  AND ((ft.status = 'PENDING' AND ft.available_at <= :now)
+                    OR (ft.status = 'RUNNING' AND ft.lease_expires_at < :now))
+                ORDER BY ft.available_at, ft.id
+                LIMIT :limit
+                FOR UPDATE OF ft SKIP LOCKED
+            )
+            RETURNING t.id AS task_id, t.attempts, r.id, r.origin, r.destination, r.departure_date, r.active,
+                      r.created_at
+            """;
+    private static final String COMPLETE = """
+            DELETE FROM fetch_task
+            WHERE lease_owner = :owner AND route_id IN (:routeIds)
+            RETURNING route_id
+            """;
+    private static final String DELETE_BY_ROUTE = "DELETE FROM fetch_task WHERE route_id = :routeId";
+    private static final String RETRY = """
+            UPDATE fetch_task
+            SET status = 'PENDING', available_at = :retryAt, lease_owner = NULL, lease_expires_at = NULL,
+                last_error = :error
+            WHERE id = :taskId AND lease_owner = :owner
+            """;
+    private static final String POSTPONE = """
+            UPDATE fetch_task
+            SET status = 'PENDING', attempts = greatest(attempts - 1, 0), available_at = :retryAt,
+                lease_owner = NULL, lease_expires_at = NULL, last_error = :error
+            WHERE id = :taskId AND lease_owner = :owner
+            """;
+    private static final String GIVE_UP = """
+            WITH failed AS (
+                UPDATE fetch_task
+                SET status = 'FAILED', lease_owner = NULL, lease_expires_at = NULL, last_error = :error
+                WHERE id = :taskId AND lease_owner = :owner
+                RETURNING route_id
+            )
+            UPDATE route r
+            SET next_fetch_at = :nextFetchAt
+            FROM failed
+            WHERE r.id = failed.route_id
+            """;
+    private static final String RENEW = """
+            UPDATE fetch_task SET lease_expires_at = :expiresAt
+            WHERE lease_owner = :owner AND status = 'RUNNING'
+            """;
+    private static final String RELEASE_ALL = """
+            UPDATE fetch_task
+            SET status = 'PENDING', attempts = greatest(attempts - 1, 0), lease_owner = NULL, lease_expires_at = NULL
+            WHERE lease_owner = :owner AND status = 'RUNNING'
+            """;
+    private static final String COUNT_BY_STATUS = "SELECT count(*) FROM fetch_task WHERE status = :status";
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public FetchTaskRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public int enqueueDue(OffsetDateTime dueBy, OffsetDateTime now, LocalDate today) {
+        return namedParameterJdbcTemplate.update(ENQUEUE_DUE, Map.of("dueBy", dueBy, "now", now, "today", today));
+    }
+
+    public List<FetchTask> claim(String owner, OffsetDateTime now, OffsetDateTime expiresAt, int limit) {
+        return namedParameterJdbcTemplate.query(CLAIM,
+                Map.of("owner", owner, "now", now, "expiresAt", expiresAt, "limit", limit),
+                (rs, rowNum) -> new FetchTask(
+                        rs.getLong("task_id"),
+                        new Route(
+                                rs.getObject("id", UUID.class),
+                                rs.getString("origin"),
+                                rs.getString("destination"),
+                                rs.getObject("departure_date", LocalDate.class),
+                                rs.getBoolean("active"),
+                                rs.getObject("created_at", OffsetDateTime.class)),
+                        rs.getInt("attempts")));
+    }
+
+    // Returns only the routes whose task this owner still held, the rest were taken over or deleted meanwhile.
+    public Set<UUID> complete(String owner, Collection<UUID> routeIds) {
+        if (routeIds.isEmpty()) return Set.of();
+
+        return Set.copyOf(namedParameterJdbcTemplate.query(COMPLETE, Map.of("owner", owner, "routeIds", routeIds),
+                (rs, rowNum) -> rs.getObject("route_id", UUID.class)));
+    }
+
+    public int deleteByRouteId(UUID routeId) {
+        return namedParameterJdbcTemplate.update(DELETE_BY_ROUTE, Map.of("routeId", routeId));
+    }
+
+    public void retry(String owner, List<FetchTaskRetry> retries) {
+        reschedule(RETRY, owner, retries);
+    }
+
+    // Same as retry, but the attempt is given back because the fetch never reached Amadeus.
+    public void postpone(String owner, List<FetchTaskRetry> retries) {
+        reschedule(POSTPONE, owner, retries);
+    }
+
+    private void reschedule(String sql, String owner, List<FetchTaskRetry> retries) {
+        if (retries.isEmpty()) return;
+
+        SqlParameterSource[] batch = retries.stream()
+                .map(retry -> new MapSqlParameterSource()
+                        .addValue("owner", owner)
+                        .addValue("taskId", retry.taskId())
+                        .addValue("retryAt", retry.retryAt())
+                        .addValue("error", retry.error()))
+                .toArray(SqlParameterSource[]::new);
+        namedParameterJdbcTemplate.batchUpdate(sql, batch);
+    }
+
+    // The route is pushed back to nextFetchAt too, otherwise the next enqueue would revive the failed task at once.
+    public void giveUp(String owner, Map<Long, String> errorsByTaskId, OffsetDateTime nextFetchAt) {
+        if (errorsByTaskId.isEmpty()) return;
+
+        SqlParameterSource[] batch = errorsByTaskId.entrySet().stream()
+                .map(failure -> new MapSqlParameterSource()
+                        .addValue("owner", owner)
+                        .addValue("taskId", failure.getKey())
+                        .addValue("error", failure.getValue())
+                        .addValue("nextFetchAt", nextFetchAt))
+                .toArray(SqlParameterSource[]::new);
+        namedParameterJdbcTemplate.batchUpdate(GIVE_UP, batch);
+    }
+
+    public int renew(String owner, OffsetDateTime expiresAt) {
+        return namedParameterJdbcTemplate.update(RENEW, Map.of("owner", owner, "expiresAt", expiresAt));
+    }
+
+    public int releaseAll(String owner) {
+        return namedParameterJdbcTemplate.update(RELEASE_ALL, Map.of("owner", owner));
+    }
+
+    public long countByStatus(String status) {
+        Long count = namedParameterJdbcTemplate.queryForObject(COUNT_BY_STATUS, Map.of("status", status), Long.class);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,56 @@
+package com.flight_price_monitor.persistence.repository;
+
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.flight_price_monitor.domain.model.PriceSnapshot;
+
+@Repository
+public class PriceExportRepository {
+    private static final int FETCH_SIZE = 10_000;
+    private static final String SELECT_ROUTE_PRICES = """
+            SELECT route_id, price, currency, retrieved_at, is_anomaly
+            FROM price_snapshot
+            WHERE route_id = ?
+            ORDER BY retrieved_at
+            """;
+    private static final String SELECT_ACTIVE_ROUTE_PRICES = """
+            SELECT p.route_id, p.price, p.currency, p.retrieved_at, p.is_anomaly
+            FROM price_snapshot p
+            JOIN route r ON r.id = p.route_id
+            WHERE r.active
+            ORDER BY p.route_id, p.retrieved_at
+            """;
+
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public PriceExportRepository(JdbcTemplate jdbcTemplate) {
+        this.streamingJdbcTemplate = new JdbcTemplate(Objects.requireNonNull(jdbcTemplate.getDataSource()));
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    // Must run inside a transaction: the driver only uses a server-side cursor with auto-commit off.
+    public void forEachByRouteId(UUID routeId, Consumer<PriceSnapshot> consumer) {
+        streamingJdbcTemplate.query(SELECT_ROUTE_PRICES, toSnapshot(consumer), routeId);
+    }
+
+    public void forEachOfActiveRoutes(Consumer<PriceSnapshot> consumer) {
+        streamingJdbcTemplate.query(SELECT_ACTIVE_ROUTE_PRICES, toSnapshot(consumer));
+    }
+
+    private static RowCallbackHandler toSnapshot(Consumer<PriceSnapshot> consumer) {
+        return rs -> consumer.accept(new PriceSnapshot(
+                null,
+                rs.getObject("route_id", UUID.class),
+                rs.getBigDecimal("price"),
+                rs.getString("currency"),
+                rs.getObject("retrieved_at", OffsetDateTime.class),
+                rs.getBoolean("is_anomaly")));
+    }
+}
@@ -0,0 +1,58 @@
+package com.flight_price_monitor.persistence.repository;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.flight_price_monitor.domain.model.PriceHistoryQuery;
+import com.flight_price_monitor.domain.model.PriceSnapshot;
+
+@Repository
+public class PriceHistoryRepository {
+    private static final String SELECT_HISTORY = """
+            SELECT id, route_id, price, currency, retrieved_at, is_anomaly
+            FROM price_snapshot
+            WHERE route_id = :routeId
+            """;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public PriceHistoryRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    // Reads newest first along (route_id, retrieved_at DESC, id DESC); the time bounds prune partitions.
+    public void forEach(PriceHistoryQuery query, Consumer<PriceSnapshot> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT_HISTORY);
+        MapSqlParameterSource params = new MapSqlParameterSource("routeId", query.routeId());
+        if (query.since() != null) {
+            sql.append("  AND retrieved_at >= :since\n");
+            params.addValue("since", query.since());
+        }
+        if (query.until() != null) {
+            sql.append("  AND retrieved_at < :until\n");
+            params.addValue("until", query.until());
+        }
+        if (query.after() != null) {
+            sql.append("  AND (retrieved_at, id) < (:afterRetrievedAt, :afterId)\n");
+            params.addValue("afterRetrievedAt", query.after().retrievedAt());
+            params.addValue("afterId", query.after().id());
+        }
+        sql.append("ORDER BY retrieved_at DESC, id DESC\nLIMIT :limit");
+        params.addValue("limit", query.limit());
+
+        namedParameterJdbcTemplate.query(sql.toString(), params, (RowCallbackHandler) rs -> consumer.accept(
+                new PriceSnapshot(
+                        rs.getObject("id", UUID.class),
+                        rs.getObject("route_id", UUID.class),
+                        rs.getBigDecimal("price"),
+                        rs.getString("currency"),
+                        rs.getObject("retrieved_at", OffsetDateTime.class),
+                        rs.getBoolean("is_anomaly"))));
+    }
+}
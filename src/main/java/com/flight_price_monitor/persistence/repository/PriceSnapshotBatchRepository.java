@@ -0,0 +1,45 @@
+package com.flight_price_monitor.persistence.repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.flight_price_monitor.domain.model.PriceSnapshot;
+
+@Repository
+public class PriceSnapshotBatchRepository {
+    private static final String INSERT_SNAPSHOT = """
+            INSERT INTO price_snapshot (id, route_id, price, currency, retrieved_at, is_anomaly)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+    private static final String MARK_ANOMALY = "UPDATE price_snapshot SET is_anomaly = true WHERE id = ? AND retrieved_at = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PriceSnapshotBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<PriceSnapshot> snapshots) {
+        if (snapshots.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(INSERT_SNAPSHOT, snapshots, snapshots.size(), (ps, snapshot) -> {
+            ps.setObject(1, snapshot.id());
+            ps.setObject(2, snapshot.routeId());
+            ps.setBigDecimal(3, snapshot.price());
+            ps.setString(4, snapshot.currency());
+            ps.setObject(5, snapshot.retrievedAt());
+            ps.setBoolean(6, snapshot.isAnomaly());
+        });
+    }
+
+    public void markAnomalies(List<PriceSnapshot> snapshots) {
+        if (snapshots.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(MARK_ANOMALY, snapshots, snapshots.size(), (ps, snapshot) -> {
+            ps.setObject(1, snapshot.id());
+            ps.setObject(2, snapshot.retrievedAt());
+        });
+    }
+}
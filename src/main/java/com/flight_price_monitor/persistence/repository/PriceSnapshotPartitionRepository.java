@@ -0,0 +1,88 @@
+package com.flight_price_monitor.persistence.repository;
+
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.flight_price_monitor.domain.model.TimePartition;
+
+@Repository
+public class PriceSnapshotPartitionRepository {
+    private static final Pattern PARTITION_NAME = Pattern.compile("price_snapshot_p\\d{8}");
+    private static final String SELECT_PARTITIONS = """
+            SELECT name, bounds[1]::timestamptz AS range_from, bounds[2]::timestamptz AS range_to
+            FROM (
+                SELECT c.relname AS name,
+                       regexp_match(pg_get_expr(c.relpartbound, c.oid), 'FROM \\(''([^'']+)''\\) TO \\(''([^'']+)''\\)') AS bounds
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'price_snapshot'::regclass
+            ) partitions
+            WHERE bounds IS NOT NULL
+            ORDER BY range_from
+            """;
+    private static final String SELECT_DETACH_PENDING = """
+            SELECT inhdetachpending
+            FROM pg_inherits
+            WHERE inhrelid = to_regclass(?) AND inhparent = 'price_snapshot'::regclass
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PriceSnapshotPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<TimePartition> findAll() {
+        return jdbcTemplate.query(SELECT_PARTITIONS, (rs, rowNum) -> new TimePartition(
+                rs.getString("name"),
+                rs.getObject("range_from", OffsetDateTime.class),
+                rs.getObject("range_to", OffsetDateTime.class)));
+    }
+
+    public void create(TimePartition partition, Duration lockTimeout) {
+        executeWithLockTimeout("CREATE TABLE IF NOT EXISTS " + checkedName(partition.name())
+                + " PARTITION OF price_snapshot FOR VALUES FROM ('" + partition.from() + "') TO ('" + partition.to() + "')",
+                lockTimeout);
+    }
+
+    // CONCURRENTLY only takes SHARE UPDATE EXCLUSIVE on price_snapshot, so inserts keep going while it waits for
+    // readers. It can't run in a transaction, and an interrupted detach has to be finalized instead of restarted.
+    public void detach(String name, Duration lockTimeout) {
+        boolean pending = jdbcTemplate.query(SELECT_DETACH_PENDING, (rs, rowNum) -> rs.getBoolean(1), checkedName(name))
+                .stream().findFirst().orElse(false);
+        executeWithLockTimeout("ALTER TABLE price_snapshot DETACH PARTITION " + name
+                + (pending ? " FINALIZE" : " CONCURRENTLY"), lockTimeout);
+    }
+
+    public void drop(String name) {
+        jdbcTemplate.execute("DROP TABLE " + checkedName(name));
+    }
+
+    // lock_timeout is set on the pooled connection, so it is reset before the connection goes back.
+    private void executeWithLockTimeout(String ddl, Duration lockTimeout) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET lock_timeout = " + lockTimeout.toMillis());
+                try {
+                    statement.execute(ddl);
+                } finally {
+                    statement.execute("RESET lock_timeout");
+                }
+            }
+            return null;
+        });
+    }
+
+    private static String checkedName(String name) {
+        if (!PARTITION_NAME.matcher(name).matches())
+            throw new IllegalArgumentException("Invalid price snapshot partition name: " + name);
+        return name;
+    }
+}
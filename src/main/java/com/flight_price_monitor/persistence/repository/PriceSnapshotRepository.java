@@ -2,17 +2,19 @@ package com.flight_price_monitor.persistence.repository;
 
 import com.flight_price_monitor.persistence.entity.PriceSnapshotEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.util.List;
+import java.math.BigDecimal;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface PriceSnapshotRepository extends JpaRepository<PriceSnapshotEntity, UUID> {
-    List<PriceSnapshotEntity> findByRouteIdOrderByRetrievedAtDesc(UUID routeId);
-
-    Optional<PriceSnapshotEntity> findFirstByRouteIdOrderByRetrievedAtDesc(UUID routeId);
-
-    List<PriceSnapshotEntity> findByRouteId(UUID routeId);
-
-    long countByRouteId(UUID routeId);
+    @Query("""
+            SELECT p.price FROM PriceSnapshotEntity p
+            WHERE p.route.id = :routeId
+            ORDER BY p.retrievedAt DESC, p.id DESC
+            LIMIT 1
+            """)
+    Optional<BigDecimal> findLatestPriceByRouteId(@Param("routeId") UUID routeId);
 }
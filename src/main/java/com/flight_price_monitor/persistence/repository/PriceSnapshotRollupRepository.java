@@ -0,0 +1,136 @@
+package com.flight_price_monitor.persistence.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.flight_price_monitor.domain.model.DailyPriceRollup;
+import com.flight_price_monitor.domain.model.PriceAggregate;
+import com.flight_price_monitor.domain.model.PriceQuantileSketch;
+import com.flight_price_monitor.domain.model.PriceSnapshot;
+
+@Repository
+public class PriceSnapshotRollupRepository {
+    private static final String ROLLUP_COLUMNS = """
+            route_id, bucket_date, currency, open_price, opened_at, close_price, closed_at,
+            min_price, max_price, sample_count, price_sum, price_sum_squares, anomaly_count, quantile_sketch
+            """;
+    private static final String SELECT_OLDEST_RAW_BEFORE =
+            "SELECT min(retrieved_at) FROM price_snapshot WHERE retrieved_at < ?";
+    private static final String DELETE_RAW_BETWEEN = """
+            DELETE FROM price_snapshot
+            WHERE retrieved_at >= ? AND retrieved_at < ?
+            RETURNING id, route_id, price, currency, retrieved_at, is_anomaly
+            """;
+    private static final String SELECT_BY_DAY_FOR_UPDATE =
+            "SELECT " + ROLLUP_COLUMNS + " FROM price_snapshot_daily WHERE bucket_date = ? FOR UPDATE";
+    private static final String SELECT_BY_ROUTE_ID =
+            "SELECT " + ROLLUP_COLUMNS + " FROM price_snapshot_daily WHERE route_id = ? ORDER BY bucket_date DESC";
+    private static final String SELECT_LATEST_BY_ROUTE_ID = SELECT_BY_ROUTE_ID + " LIMIT 1";
+    private static final String UPSERT_ROLLUP = "INSERT INTO price_snapshot_daily (" + ROLLUP_COLUMNS + """
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (route_id, bucket_date) DO UPDATE SET
+                currency = EXCLUDED.currency,
+                open_price = EXCLUDED.open_price,
+                opened_at = EXCLUDED.opened_at,
+                close_price = EXCLUDED.close_price,
+                closed_at = EXCLUDED.closed_at,
+                min_price = EXCLUDED.min_price,
+                max_price = EXCLUDED.max_price,
+                sample_count = EXCLUDED.sample_count,
+                price_sum = EXCLUDED.price_sum,
+                price_sum_squares = EXCLUDED.price_sum_squares,
+                anomaly_count = EXCLUDED.anomaly_count,
+                quantile_sketch = EXCLUDED.quantile_sketch
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PriceSnapshotRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<OffsetDateTime> findOldestRawBefore(OffsetDateTime cutoff) {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(SELECT_OLDEST_RAW_BEFORE,
+                (rs, rowNum) -> rs.getObject(1, OffsetDateTime.class), cutoff));
+    }
+
+    public List<PriceSnapshot> deleteRawBetween(OffsetDateTime from, OffsetDateTime to) {
+        return jdbcTemplate.query(DELETE_RAW_BETWEEN, (rs, rowNum) -> new PriceSnapshot(
+                rs.getObject("id", UUID.class),
+                rs.getObject("route_id", UUID.class),
+                rs.getBigDecimal("price"),
+                rs.getString("currency"),
+                rs.getObject("retrieved_at", OffsetDateTime.class),
+                rs.getBoolean("is_anomaly")), from, to);
+    }
+
+    public Map<UUID, DailyPriceRollup> findByDayForUpdate(LocalDate day) {
+        Map<UUID, DailyPriceRollup> rollups = new HashMap<>();
+        jdbcTemplate.query(SELECT_BY_DAY_FOR_UPDATE, (RowCallbackHandler) rs -> {
+            DailyPriceRollup rollup = toRollup(rs);
+            rollups.put(rollup.routeId(), rollup);
+        }, day);
+        return rollups;
+    }
+
+    public List<DailyPriceRollup> findByRouteId(UUID routeId) {
+        return jdbcTemplate.query(SELECT_BY_ROUTE_ID, (rs, rowNum) -> toRollup(rs), routeId);
+    }
+
+    public Optional<DailyPriceRollup> findLatestByRouteId(UUID routeId) {
+        return jdbcTemplate.query(SELECT_LATEST_BY_ROUTE_ID, (rs, rowNum) -> toRollup(rs), routeId).stream().findFirst();
+    }
+
+    public void upsertAll(Collection<DailyPriceRollup> rollups) {
+        if (rollups.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(UPSERT_ROLLUP, List.copyOf(rollups), rollups.size(), (ps, rollup) -> {
+            PriceAggregate aggregate = rollup.aggregate();
+            ps.setObject(1, rollup.routeId());
+            ps.setObject(2, rollup.day());
+            ps.setString(3, rollup.currency());
+            ps.setBigDecimal(4, rollup.openPrice());
+            ps.setObject(5, rollup.openedAt());
+            ps.setBigDecimal(6, rollup.closePrice());
+            ps.setObject(7, rollup.closedAt());
+            ps.setBigDecimal(8, aggregate.min());
+            ps.setBigDecimal(9, aggregate.max());
+            ps.setLong(10, aggregate.count());
+            ps.setBigDecimal(11, aggregate.sum());
+            ps.setBigDecimal(12, aggregate.sumOfSquares());
+            ps.setLong(13, rollup.anomalyCount());
+            ps.setBytes(14, rollup.sketch().toBytes());
+        });
+    }
+
+    private static DailyPriceRollup toRollup(ResultSet rs) throws SQLException {
+        return new DailyPriceRollup(
+                rs.getObject("route_id", UUID.class),
+                rs.getObject("bucket_date", LocalDate.class),
+                rs.getString("currency"),
+                rs.getBigDecimal("open_price"),
+                rs.getObject("opened_at", OffsetDateTime.class),
+                rs.getBigDecimal("close_price"),
+                rs.getObject("closed_at", OffsetDateTime.class),
+                new PriceAggregate(
+                        rs.getLong("sample_count"),
+                        rs.getBigDecimal("price_sum"),
+                        rs.getBigDecimal("price_sum_squares"),
+                        rs.getBigDecimal("min_price"),
+                        rs.getBigDecimal("max_price")),
+                rs.getLong("anomaly_count"),
+                PriceQuantileSketch.fromBytes(rs.getBytes("quantile_sketch")));
+    }
+}
@@ -0,0 +1,64 @@
+package com.flight_price_monitor.persistence.repository;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.flight_price_monitor.domain.model.FetchCadenceInput;
+
+@Repository
+public class RouteFetchScheduleRepository {
+    private static final String SELECT_CADENCE_INPUTS = """
+            SELECT r.id AS route_id, r.departure_date, coalesce(s.sample_count, 0) AS sample_count,
+                   recent.mean, recent.standard_deviation
+            FROM route r
+            LEFT JOIN route_price_stats s ON s.route_id = r.id
+            CROSS JOIN LATERAL (
+                SELECT avg(p.price) AS mean, stddev_samp(p.price) AS standard_deviation
+                FROM price_snapshot p
+                WHERE p.route_id = r.id
+                  AND p.retrieved_at >= :since
+            ) recent
+            WHERE r.id IN (:routeIds)
+            """;
+    private static final String UPDATE_NEXT_FETCH_AT = "UPDATE route SET next_fetch_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public RouteFetchScheduleRepository(JdbcTemplate jdbcTemplate,
+                                        NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public List<FetchCadenceInput> findCadenceInputs(Collection<UUID> routeIds, OffsetDateTime since) {
+        if (routeIds.isEmpty()) return List.of();
+
+        return namedParameterJdbcTemplate.query(SELECT_CADENCE_INPUTS,
+                Map.of("routeIds", routeIds, "since", since),
+                (rs, rowNum) -> new FetchCadenceInput(
+                        rs.getObject("route_id", UUID.class),
+                        rs.getObject("departure_date", LocalDate.class),
+                        rs.getLong("sample_count"),
+                        rs.getBigDecimal("mean"),
+                        rs.getBigDecimal("standard_deviation")));
+    }
+
+    public void updateNextFetchAt(Map<UUID, OffsetDateTime> nextFetchAt) {
+        if (nextFetchAt.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(UPDATE_NEXT_FETCH_AT, List.copyOf(nextFetchAt.entrySet()), nextFetchAt.size(),
+                (ps, entry) -> {
+                    ps.setObject(1, entry.getValue());
+                    ps.setObject(2, entry.getKey());
+                });
+    }
+}
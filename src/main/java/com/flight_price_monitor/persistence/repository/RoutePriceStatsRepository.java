@@ -0,0 +1,253 @@
+package com.flight_price_monitor.persistence.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.flight_price_monitor.domain.model.DealCandidate;
+import com.flight_price_monitor.domain.model.PriceAggregate;
+import com.flight_price_monitor.domain.model.PriceAggregateAccumulator;
+import com.flight_price_monitor.domain.model.PriceQuantileSketch;
+import com.flight_price_monitor.domain.model.PriceSnapshot;
+
+@Repository
+public class RoutePriceStatsRepository {
+    private static final String SELECT_BY_ROUTE_IDS = """
+            SELECT route_id, sample_count, price_sum, price_sum_squares, min_price, max_price
+            FROM route_price_stats
+            WHERE route_id IN (:routeIds)
+            """;
+    private static final String SELECT_BY_ROUTE_ID = """
+            SELECT route_id, sample_count, price_sum, price_sum_squares, min_price, max_price
+            FROM route_price_stats
+            WHERE route_id = ?
+            """;
+    private static final String UPSERT_STATS = """
+            INSERT INTO route_price_stats AS s
+                (route_id, sample_count, price_sum, price_sum_squares, min_price, max_price, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+            ON CONFLICT (route_id) DO UPDATE SET
+                sample_count = s.sample_count + EXCLUDED.sample_count,
+                price_sum = s.price_sum + EXCLUDED.price_sum,
+                price_sum_squares = s.price_sum_squares + EXCLUDED.price_sum_squares,
+                min_price = least(s.min_price, EXCLUDED.min_price),
+                max_price = greatest(s.max_price, EXCLUDED.max_price),
+                updated_at = EXCLUDED.updated_at
+            """;
+    private static final String SELECT_DEAL_CANDIDATES = """
+            SELECT r.id AS route_id, r.origin, r.destination, r.departure_date,
+                   s.sample_count, s.price_sum, s.price_sum_squares, s.min_price, s.max_price,
+                   latest.price, latest.currency, latest.retrieved_at
+            FROM route r
+            JOIN route_price_stats s ON s.route_id = r.id
+            CROSS JOIN LATERAL (
+                SELECT price, currency, retrieved_at
+                FROM (
+                    (SELECT p.price, p.currency, p.retrieved_at
+                     FROM price_snapshot p
+                     WHERE p.route_id = r.id
+                     ORDER BY p.retrieved_at DESC
+                     LIMIT 1)
+                    UNION ALL
+                    (SELECT d.close_price, d.currency, d.closed_at
+                     FROM price_snapshot_daily d
+                     WHERE d.route_id = r.id
+                     ORDER BY d.bucket_date DESC
+                     LIMIT 1)
+                ) prices
+                ORDER BY retrieved_at DESC
+                LIMIT 1
+            ) latest
+            WHERE r.active
+              AND s.sample_count >= :minSamples
+            """;
+    private static final String SELECT_DEAL_CANDIDATES_FOR_ROUTES = SELECT_DEAL_CANDIDATES + """
+              AND r.id IN (:routeIds)
+            """;
+    private static final String SELECT_SKETCHES = """
+            SELECT route_id, quantile_sketch
+            FROM route_price_stats
+            WHERE route_id IN (:routeIds)
+            """;
+    private static final String SELECT_SKETCH_BY_ROUTE_ID =
+            "SELECT quantile_sketch FROM route_price_stats WHERE route_id = ?";
+    private static final String UPDATE_SKETCH = "UPDATE route_price_stats SET quantile_sketch = ? WHERE route_id = ?";
+    private static final String SELECT_PRICES_AND_ROLLUP_SKETCHES_BY_ROUTE = """
+            SELECT route_id, price, NULL::bytea AS quantile_sketch FROM price_snapshot
+            UNION ALL
+            SELECT route_id, NULL, quantile_sketch FROM price_snapshot_daily
+            ORDER BY route_id
+            """;
+    private static final int SKETCH_REBUILD_BATCH_SIZE = 500;
+    private static final String LOCK_STATS = "LOCK TABLE route_price_stats IN EXCLUSIVE MODE";
+    private static final String DELETE_STATS = "DELETE FROM route_price_stats";
+    private static final String REBUILD_STATS = """
+            INSERT INTO route_price_stats (route_id, sample_count, price_sum, price_sum_squares, min_price, max_price)
+            SELECT route_id, sum(sample_count), sum(price_sum), sum(price_sum_squares), min(min_price), max(max_price)
+            FROM (
+                SELECT route_id, count(*) AS sample_count, sum(price) AS price_sum,
+                       sum(price * price) AS price_sum_squares, min(price) AS min_price, max(price) AS max_price
+                FROM price_snapshot
+                GROUP BY route_id
+                UNION ALL
+                SELECT route_id, sample_count, price_sum, price_sum_squares, min_price, max_price
+                FROM price_snapshot_daily
+            ) parts
+            GROUP BY route_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public RoutePriceStatsRepository(JdbcTemplate jdbcTemplate,
+                                     NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public Map<UUID, PriceAggregate> findByRouteIds(Collection<UUID> routeIds) {
+        Map<UUID, PriceAggregate> aggregates = new HashMap<>();
+        if (routeIds.isEmpty()) return aggregates;
+
+        namedParameterJdbcTemplate.query(SELECT_BY_ROUTE_IDS, Map.of("routeIds", routeIds), (RowCallbackHandler) rs ->
+                aggregates.put(rs.getObject("route_id", UUID.class), toAggregate(rs)));
+        return aggregates;
+    }
+
+    public Optional<PriceAggregate> findByRouteId(UUID routeId) {
+        return jdbcTemplate.query(SELECT_BY_ROUTE_ID, (rs, rowNum) -> toAggregate(rs), routeId).stream().findFirst();
+    }
+
+    public List<DealCandidate> findDealCandidates(int minSamples) {
+        return namedParameterJdbcTemplate.query(SELECT_DEAL_CANDIDATES, Map.of("minSamples", minSamples),
+                (rs, rowNum) -> toDealCandidate(rs));
+    }
+
+    public List<DealCandidate> findDealCandidates(int minSamples, Collection<UUID> routeIds) {
+        return namedParameterJdbcTemplate.query(SELECT_DEAL_CANDIDATES_FOR_ROUTES,
+                Map.of("minSamples", minSamples, "routeIds", routeIds), (rs, rowNum) -> toDealCandidate(rs));
+    }
+
+    public Optional<PriceQuantileSketch> findQuantileSketch(UUID routeId) {
+        return jdbcTemplate.query(SELECT_SKETCH_BY_ROUTE_ID, (rs, rowNum) -> rs.getBytes("quantile_sketch"), routeId)
+                .stream()
+                .filter(Objects::nonNull)
+                .map(PriceQuantileSketch::fromBytes)
+                .findFirst();
+    }
+
+    public void addAll(List<PriceSnapshot> snapshots) {
+        Map<UUID, PriceAggregateAccumulator> deltas = new LinkedHashMap<>();
+        Map<UUID, PriceQuantileSketch> sketchDeltas = new HashMap<>();
+        for (PriceSnapshot snapshot : snapshots) {
+            deltas.computeIfAbsent(snapshot.routeId(), routeId -> new PriceAggregateAccumulator())
+                    .add(snapshot.price());
+            sketchDeltas.computeIfAbsent(snapshot.routeId(), routeId -> new PriceQuantileSketch()).add(snapshot.price());
+        }
+        if (deltas.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(UPSERT_STATS, List.copyOf(deltas.entrySet()), deltas.size(), (ps, delta) -> {
+            PriceAggregate aggregate = delta.getValue().toAggregate();
+            ps.setObject(1, delta.getKey());
+            ps.setLong(2, aggregate.count());
+            ps.setBigDecimal(3, aggregate.sum());
+            ps.setBigDecimal(4, aggregate.sumOfSquares());
+            ps.setBigDecimal(5, aggregate.min());
+            ps.setBigDecimal(6, aggregate.max());
+        });
+
+        Map<UUID, PriceQuantileSketch> sketches = new HashMap<>();
+        namedParameterJdbcTemplate.query(SELECT_SKETCHES, Map.of("routeIds", deltas.keySet()), (RowCallbackHandler) rs -> {
+            byte[] stored = rs.getBytes("quantile_sketch");
+            sketches.put(rs.getObject("route_id", UUID.class),
+                    stored == null ? new PriceQuantileSketch() : PriceQuantileSketch.fromBytes(stored));
+        });
+        sketchDeltas.forEach((routeId, delta) -> sketches.get(routeId).merge(delta));
+        updateSketches(sketches);
+    }
+
+    public void rebuildQuantileSketches() {
+        Map<UUID, PriceQuantileSketch> pending = new HashMap<>();
+        UUID[] currentRoute = new UUID[1];
+        PriceQuantileSketch[] currentSketch = new PriceQuantileSketch[1];
+
+        JdbcTemplate streamingTemplate = new JdbcTemplate(Objects.requireNonNull(jdbcTemplate.getDataSource()));
+        streamingTemplate.setFetchSize(10_000);
+        streamingTemplate.query(SELECT_PRICES_AND_ROLLUP_SKETCHES_BY_ROUTE, (RowCallbackHandler) rs -> {
+            UUID routeId = rs.getObject("route_id", UUID.class);
+            if (!routeId.equals(currentRoute[0])) {
+                if (currentRoute[0] != null) {
+                    pending.put(currentRoute[0], currentSketch[0]);
+                }
+                if (pending.size() >= SKETCH_REBUILD_BATCH_SIZE) {
+                    updateSketches(pending);
+                    pending.clear();
+                }
+                currentRoute[0] = routeId;
+                currentSketch[0] = new PriceQuantileSketch();
+            }
+            byte[] rollupSketch = rs.getBytes("quantile_sketch");
+            if (rollupSketch != null) {
+                currentSketch[0].merge(PriceQuantileSketch.fromBytes(rollupSketch));
+            } else {
+                currentSketch[0].add(rs.getBigDecimal("price"));
+            }
+        });
+        if (currentRoute[0] != null) {
+            pending.put(currentRoute[0], currentSketch[0]);
+        }
+        updateSketches(pending);
+    }
+
+    private void updateSketches(Map<UUID, PriceQuantileSketch> sketches) {
+        if (sketches.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(UPDATE_SKETCH, List.copyOf(sketches.entrySet()), sketches.size(), (ps, sketch) -> {
+            ps.setBytes(1, sketch.getValue().toBytes());
+            ps.setObject(2, sketch.getKey());
+        });
+    }
+
+    public int rebuild() {
+        jdbcTemplate.execute(LOCK_STATS);
+        jdbcTemplate.update(DELETE_STATS);
+        int routes = jdbcTemplate.update(REBUILD_STATS);
+        rebuildQuantileSketches();
+        return routes;
+    }
+
+    private static DealCandidate toDealCandidate(ResultSet rs) throws SQLException {
+        return new DealCandidate(
+                rs.getObject("route_id", UUID.class),
+                rs.getString("origin"),
+                rs.getString("destination"),
+                rs.getObject("departure_date", LocalDate.class),
+                toAggregate(rs),
+                rs.getBigDecimal("price"),
+                rs.getString("currency"),
+                rs.getObject("retrieved_at", OffsetDateTime.class));
+    }
+
+    private static PriceAggregate toAggregate(ResultSet rs) throws SQLException {
+        return new PriceAggregate(
+                rs.getLong("sample_count"),
+                rs.getBigDecimal("price_sum"),
+                rs.getBigDecimal("price_sum_squares"),
+                rs.getBigDecimal("min_price"),
+                rs.getBigDecimal("max_price"));
+    }
+}
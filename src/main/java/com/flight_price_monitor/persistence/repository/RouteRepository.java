@@ -1,6 +1,7 @@
 package com.flight_price_monitor.persistence.repository;
 
 import com.flight_price_monitor.persistence.entity.RouteEntity;
+import com.flight_price_monitor.persistence.projection.RouteSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.time.LocalDate;
@@ -11,5 +12,7 @@ import java.util.UUID;
 public interface RouteRepository extends JpaRepository<RouteEntity, UUID> {
     List<RouteEntity> findAllByActiveTrue();
 
+    Optional<RouteSummary> findSummaryById(UUID id);
+
     Optional<RouteEntity> findByOriginAndDestinationAndDepartureDate(String origin, String destination, LocalDate departureDate);
 }
@@ -0,0 +1,101 @@
+package com.flight_price_monitor.scheduler;
+
+import java.util.List;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.flight_price_monitor.application.AnomalyDetectionService;
+import com.flight_price_monitor.application.AnomalyEvaluationQueue;
+import com.flight_price_monitor.config.AnomalyEvaluationProperties;
+import com.flight_price_monitor.domain.model.PriceSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class AnomalyEvaluationWorker implements SmartLifecycle {
+    private final AnomalyEvaluationQueue evaluationQueue;
+    private final AnomalyDetectionService anomalyDetectionService;
+    private final AnomalyEvaluationProperties evaluationProperties;
+    private volatile boolean running;
+    private Thread worker;
+
+    public AnomalyEvaluationWorker(AnomalyEvaluationQueue evaluationQueue,
+                                   AnomalyDetectionService anomalyDetectionService,
+                                   AnomalyEvaluationProperties evaluationProperties) {
+        this.evaluationQueue = evaluationQueue;
+        this.anomalyDetectionService = anomalyDetectionService;
+        this.evaluationProperties = evaluationProperties;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) return;
+
+        running = true;
+        worker = Thread.ofPlatform().name("anomaly-evaluator").start(this::drainQueue);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) return;
+
+        running = false;
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PriceSnapshot> remaining = evaluationQueue.drain();
+        if (!remaining.isEmpty()) {
+            evaluate(remaining);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stops after the fetch workers, so snapshots they queue while shutting down are still evaluated.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 1;
+    }
+
+    @Scheduled(fixedDelayString = "${anomaly.evaluation.recovery-interval}")
+    public void recoverStaleSnapshots() {
+        if (!running) return;
+
+        try {
+            evaluationQueue.recoverStale();
+        } catch (Exception e) {
+            log.error("Failed to recover unevaluated price snapshots: {}", e.getMessage());
+        }
+    }
+
+    private void drainQueue() {
+        while (running) {
+            try {
+                List<PriceSnapshot> batch = evaluationQueue.take(evaluationProperties.batchSize(),
+                        evaluationProperties.pollTimeout());
+                if (!batch.isEmpty()) {
+                    evaluate(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void evaluate(List<PriceSnapshot> batch) {
+        try {
+            anomalyDetectionService.flagAnomalies(batch);
+        } catch (Exception e) {
+            log.error("Failed to evaluate {} price snapshots for anomalies: {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.flight_price_monitor.scheduler;
+
+import com.flight_price_monitor.application.FetchTaskQueueService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class FetchTaskLeaseScheduler {
+    private final FetchTaskQueueService fetchTaskQueueService;
+
+    public FetchTaskLeaseScheduler(FetchTaskQueueService fetchTaskQueueService) {
+        this.fetchTaskQueueService = fetchTaskQueueService;
+    }
+
+    @Scheduled(fixedDelayString = "${fetch.queue.heartbeat-interval}")
+    public void renewLeases() {
+        try {
+            int renewed = fetchTaskQueueService.renewLeases();
+            if (renewed > 0) {
+                log.debug("Renewed {} fetch task leases", renewed);
+            }
+        } catch (Exception e) {
+            log.error("Failed to renew fetch task leases: {}", e.getMessage());
+        }
+    }
+}
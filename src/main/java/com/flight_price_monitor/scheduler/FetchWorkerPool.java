@@ -0,0 +1,100 @@
+package com.flight_price_monitor.scheduler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.flight_price_monitor.application.FetchRunSummary;
+import com.flight_price_monitor.application.FetchTaskQueueService;
+import com.flight_price_monitor.application.PriceMonitoringService;
+import com.flight_price_monitor.config.FetchProperties;
+import com.flight_price_monitor.config.FetchQueueProperties;
+import com.flight_price_monitor.infrastructure.amadeus.AmadeusBulkheadProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class FetchWorkerPool implements SmartLifecycle {
+    private final PriceMonitoringService priceMonitoringService;
+    private final FetchTaskQueueService fetchTaskQueueService;
+    private final FetchQueueProperties queueProperties;
+    private volatile boolean running;
+    private ExecutorService workers;
+
+    public FetchWorkerPool(PriceMonitoringService priceMonitoringService,
+                           FetchTaskQueueService fetchTaskQueueService,
+                           FetchQueueProperties queueProperties,
+                           FetchProperties fetchProperties,
+                           AmadeusBulkheadProperties bulkheadProperties) {
+        int maxFetchesInFlight = queueProperties.workers() * fetchProperties.concurrency();
+        if (maxFetchesInFlight > bulkheadProperties.maxConcurrentCalls())
+            throw new IllegalArgumentException("fetch.queue.workers x fetch.concurrency (" + maxFetchesInFlight
+                    + ") must not exceed amadeus.bulkhead.max-concurrent-calls ("
+                    + bulkheadProperties.maxConcurrentCalls() + ")");
+        this.priceMonitoringService = priceMonitoringService;
+        this.fetchTaskQueueService = fetchTaskQueueService;
+        this.queueProperties = queueProperties;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || queueProperties.workers() == 0) return;
+
+        running = true;
+        workers = Executors.newFixedThreadPool(queueProperties.workers(),
+                Thread.ofPlatform().name("fetch-worker-", 0).factory());
+        for (int i = 0; i < queueProperties.workers(); i++) {
+            workers.submit(this::drainQueue);
+        }
+        log.info("Started {} fetch workers", queueProperties.workers());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) return;
+
+        running = false;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(queueProperties.leaseDuration().toMillis(), TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        int released = fetchTaskQueueService.releaseAll();
+        log.info("Stopped fetch workers, released {} unfinished fetch tasks", released);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainQueue() {
+        while (running) {
+            try {
+                FetchRunSummary summary = priceMonitoringService.processNextTasks();
+                if (summary.routes() == 0) {
+                    Thread.sleep(queueProperties.pollInterval());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Fetch worker failed: {}", e.getMessage());
+                try {
+                    Thread.sleep(queueProperties.pollInterval());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.flight_price_monitor.scheduler;
 
-import com.flight_price_monitor.application.PriceMonitoringService;
+import com.flight_price_monitor.application.FetchTaskQueueService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -8,18 +8,17 @@ import org.springframework.stereotype.Component;
 @Component
 @Slf4j
 public class PriceFetchScheduler {
-    private final PriceMonitoringService priceMonitoringService;
+    private final FetchTaskQueueService fetchTaskQueueService;
 
-    public PriceFetchScheduler(PriceMonitoringService priceMonitoringService) {
-        this.priceMonitoringService = priceMonitoringService;
+    public PriceFetchScheduler(FetchTaskQueueService fetchTaskQueueService) {
+        this.fetchTaskQueueService = fetchTaskQueueService;
     }
 
-    @Scheduled(fixedRateString = "${scheduler.price-fetch.interval-ms:21600000}")
-    public void fetchPrices() {
+    @Scheduled(fixedRateString = "${scheduler.price-fetch.interval-ms:900000}")
+    public void enqueueDueRoutes() {
         try {
-            log.info("Starting scheduled price fetch...");
-            priceMonitoringService.fetchPricesForAllActiveRoutes();
-            log.info("Scheduled price fetch completed");
+            int enqueued = fetchTaskQueueService.enqueueDueRoutes();
+            log.info("Enqueued {} fetch tasks for due routes", enqueued);
         } catch (Exception e) {
             log.error(e.getMessage());
         }
@@ -0,0 +1,34 @@
+package com.flight_price_monitor.scheduler;
+
+import com.flight_price_monitor.application.PriceRollupService;
+import com.flight_price_monitor.application.PriceSnapshotPartitionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class StorageMaintenanceScheduler {
+    private final PriceSnapshotPartitionService partitionService;
+    private final PriceRollupService rollupService;
+
+    public StorageMaintenanceScheduler(PriceSnapshotPartitionService partitionService,
+                                       PriceRollupService rollupService) {
+        this.partitionService = partitionService;
+        this.rollupService = rollupService;
+    }
+
+    @Scheduled(fixedRateString = "${scheduler.storage-maintenance.interval-ms:86400000}")
+    public void maintainStorage() {
+        try {
+            partitionService.maintainPartitions();
+        } catch (Exception e) {
+            log.error("Price snapshot partition maintenance failed", e);
+        }
+        try {
+            rollupService.compactExpiredSnapshots();
+        } catch (Exception e) {
+            log.error("Price snapshot rollup failed", e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package db.migration;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Adds the per-route quantile sketch and builds it from the existing snapshots. The sketch format (version 1: 1%
+ * relative accuracy, at most 512 bins, lower bins folded into the lowest one) is written out here on purpose, so this
+ * migration keeps doing the same thing whatever happens to {@code PriceQuantileSketch} later.
+ */
+public class V5__route_price_quantile_sketch extends BaseJavaMigration {
+    private static final int BATCH_SIZE = 500;
+    private static final byte FORMAT_VERSION = 1;
+    private static final int MAX_BINS = 512;
+    private static final double LOG_GAMMA = Math.log(1.01 / 0.99);
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        jdbcTemplate.execute("ALTER TABLE route_price_stats ADD COLUMN quantile_sketch BYTEA");
+        jdbcTemplate.setFetchSize(10_000);
+
+        List<Object[]> pending = new ArrayList<>();
+        UUID[] currentRoute = new UUID[1];
+        Map<Integer, Long> bins = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT route_id, price
+                FROM price_snapshot
+                ORDER BY route_id
+                """, (RowCallbackHandler) rs -> {
+            UUID routeId = rs.getObject("route_id", UUID.class);
+            if (!routeId.equals(currentRoute[0])) {
+                if (currentRoute[0] != null) {
+                    pending.add(new Object[]{encode(bins), currentRoute[0]});
+                    bins.clear();
+                }
+                if (pending.size() >= BATCH_SIZE) {
+                    updateSketches(jdbcTemplate, pending);
+                }
+                currentRoute[0] = routeId;
+            }
+            bins.merge((int) Math.ceil(Math.log(rs.getBigDecimal("price").doubleValue()) / LOG_GAMMA), 1L, Long::sum);
+        });
+        if (currentRoute[0] != null) {
+            pending.add(new Object[]{encode(bins), currentRoute[0]});
+        }
+        updateSketches(jdbcTemplate, pending);
+    }
+
+    private static void updateSketches(JdbcTemplate jdbcTemplate, List<Object[]> pending) {
+        if (pending.isEmpty()) return;
+        jdbcTemplate.batchUpdate("UPDATE route_price_stats SET quantile_sketch = ? WHERE route_id = ?", pending);
+        pending.clear();
+    }
+
+    private static byte[] encode(Map<Integer, Long> bins) {
+        int maxIndex = bins.keySet().stream().mapToInt(Integer::intValue).max().orElseThrow();
+        int minIndex = Math.max(bins.keySet().stream().mapToInt(Integer::intValue).min().orElseThrow(),
+                maxIndex - MAX_BINS + 1);
+        long[] counts = new long[maxIndex - minIndex + 1];
+        bins.forEach((index, count) -> counts[Math.max(index - minIndex, 0)] += count);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + counts.length * 2);
+        out.write(FORMAT_VERSION);
+        writeVarLong(out, Integer.toUnsignedLong((minIndex << 1) ^ (minIndex >> 31)));
+        writeVarLong(out, counts.length);
+        for (long count : counts) {
+            writeVarLong(out, count);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -0,0 +1,17 @@
+CREATE TABLE fetch_task
+(
+    id               BIGSERIAL PRIMARY KEY,
+    route_id         UUID                     NOT NULL UNIQUE,
+    status           VARCHAR(20)              NOT NULL DEFAULT 'PENDING'
+        CHECK ( status IN ('PENDING', 'RUNNING', 'FAILED') ),
+    attempts         INTEGER                  NOT NULL DEFAULT 0,
+    available_at     TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    lease_owner      VARCHAR(100),
+    lease_expires_at TIMESTAMP WITH TIME ZONE,
+    last_error       TEXT,
+    created_at       TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (route_id) REFERENCES route (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_fetch_task_pending ON fetch_task (available_at, id) WHERE status = 'PENDING';
+CREATE INDEX idx_fetch_task_running ON fetch_task (lease_owner, lease_expires_at) WHERE status = 'RUNNING';
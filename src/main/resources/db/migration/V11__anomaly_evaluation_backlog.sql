@@ -0,0 +1,10 @@
+CREATE TABLE anomaly_evaluation_backlog
+(
+    snapshot_id  UUID PRIMARY KEY,
+    route_id     UUID                     NOT NULL,
+    retrieved_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    queued_at    TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (route_id) REFERENCES route (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_anomaly_evaluation_backlog_queued_at ON anomaly_evaluation_backlog (queued_at);
@@ -0,0 +1,16 @@
+CREATE TABLE route_price_stats
+(
+    route_id          UUID PRIMARY KEY,
+    sample_count      BIGINT                   NOT NULL CHECK ( sample_count > 0 ),
+    price_sum         NUMERIC                  NOT NULL,
+    price_sum_squares NUMERIC                  NOT NULL,
+    min_price         NUMERIC(10, 2)           NOT NULL,
+    max_price         NUMERIC(10, 2)           NOT NULL,
+    updated_at        TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (route_id) REFERENCES route (id) ON DELETE CASCADE
+);
+
+INSERT INTO route_price_stats (route_id, sample_count, price_sum, price_sum_squares, min_price, max_price)
+SELECT route_id, count(*), sum(price), sum(price * price), min(price), max(price)
+FROM price_snapshot
+GROUP BY route_id;
@@ -0,0 +1,3 @@
+CREATE INDEX idx_price_snapshot_route_id_retrieved_at ON price_snapshot (route_id, retrieved_at DESC);
+
+DROP INDEX idx_price_snapshot_route_id;
@@ -0,0 +1,48 @@
+ALTER TABLE price_snapshot RENAME TO price_snapshot_unpartitioned;
+ALTER INDEX price_snapshot_pkey RENAME TO price_snapshot_unpartitioned_pkey;
+
+CREATE TABLE price_snapshot
+(
+    id           UUID                     NOT NULL,
+    route_id     UUID                     NOT NULL,
+    price        NUMERIC(10, 2)           NOT NULL CHECK ( price > 0 ),
+    currency     VARCHAR(3)               NOT NULL CHECK ( currency = UPPER(currency) ),
+    retrieved_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    is_anomaly   BOOLEAN                  NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (id, retrieved_at),
+    FOREIGN KEY (route_id) REFERENCES route (id) ON DELETE CASCADE
+) PARTITION BY RANGE (retrieved_at);
+
+-- Monthly UTC partitions from the oldest snapshot up to three months ahead; the application keeps extending them.
+DO
+$$
+    DECLARE
+        month_start TIMESTAMP;
+    BEGIN
+        FOR month_start IN
+            SELECT generate_series(
+                           date_trunc('month', coalesce(min(retrieved_at), CURRENT_TIMESTAMP) AT TIME ZONE 'UTC'),
+                           date_trunc('month', greatest(max(retrieved_at), CURRENT_TIMESTAMP) AT TIME ZONE 'UTC')
+                               + INTERVAL '3 months',
+                           INTERVAL '1 month')
+            FROM price_snapshot_unpartitioned
+            LOOP
+                EXECUTE format('CREATE TABLE %I PARTITION OF price_snapshot FOR VALUES FROM (%L) TO (%L)',
+                               'price_snapshot_p' || to_char(month_start, 'YYYYMMDD'),
+                               month_start AT TIME ZONE 'UTC',
+                               (month_start + INTERVAL '1 month') AT TIME ZONE 'UTC');
+            END LOOP;
+    END
+$$;
+
+INSERT INTO price_snapshot (id, route_id, price, currency, retrieved_at, is_anomaly)
+SELECT id, route_id, price, currency, retrieved_at, is_anomaly
+FROM price_snapshot_unpartitioned;
+
+DROP TABLE price_snapshot_unpartitioned;
+
+CREATE INDEX idx_price_snapshot_route_id_retrieved_at ON price_snapshot (route_id, retrieved_at DESC);
+CREATE INDEX idx_price_snapshot_retrieved_at ON price_snapshot USING brin (retrieved_at);
+CREATE INDEX idx_price_snapshot_is_anomaly ON price_snapshot (is_anomaly) WHERE is_anomaly IS TRUE;
+
+ANALYZE price_snapshot;
@@ -0,0 +1,19 @@
+CREATE TABLE price_snapshot_daily
+(
+    route_id          UUID                     NOT NULL,
+    bucket_date       DATE                     NOT NULL,
+    currency          VARCHAR(3)               NOT NULL CHECK ( currency = UPPER(currency) ),
+    open_price        NUMERIC(10, 2)           NOT NULL,
+    opened_at         TIMESTAMP WITH TIME ZONE NOT NULL,
+    close_price       NUMERIC(10, 2)           NOT NULL,
+    closed_at         TIMESTAMP WITH TIME ZONE NOT NULL,
+    min_price         NUMERIC(10, 2)           NOT NULL,
+    max_price         NUMERIC(10, 2)           NOT NULL,
+    sample_count      BIGINT                   NOT NULL CHECK ( sample_count > 0 ),
+    price_sum         NUMERIC                  NOT NULL,
+    price_sum_squares NUMERIC                  NOT NULL,
+    anomaly_count     BIGINT                   NOT NULL DEFAULT 0,
+    quantile_sketch   BYTEA                    NOT NULL,
+    PRIMARY KEY (route_id, bucket_date),
+    FOREIGN KEY (route_id) REFERENCES route (id) ON DELETE CASCADE
+);
@@ -0,0 +1,3 @@
+CREATE INDEX idx_price_snapshot_route_id_retrieved_at_id ON price_snapshot (route_id, retrieved_at DESC, id DESC);
+
+DROP INDEX idx_price_snapshot_route_id_retrieved_at;
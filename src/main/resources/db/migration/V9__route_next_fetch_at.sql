@@ -0,0 +1,4 @@
+ALTER TABLE route
+    ADD COLUMN next_fetch_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE INDEX idx_route_next_fetch_at ON route (next_fetch_at) WHERE active;
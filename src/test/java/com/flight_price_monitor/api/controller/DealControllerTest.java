@@ -0,0 +1,169 @@
+package com.flight_price_monitor.api.controller;
+
+import com.flight_price_monitor.api.dto.DealResponse;
+import com.flight_price_monitor.application.DealStream;
+import com.flight_price_monitor.application.DealsRegistry;
+import com.flight_price_monitor.config.DealStreamExecutorConfig;
+import com.flight_price_monitor.config.DealStreamProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(DealController.class)
+@Import(DealStreamExecutorConfig.class)
+@org.springframework.security.test.context.support.WithMockUser
+class DealControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    DealsRegistry dealsRegistry;
+
+    @MockitoBean
+    DealStream dealStream;
+
+    @MockitoBean
+    DealStreamProperties streamProperties;
+
+    @MockitoBean
+    @SuppressWarnings("unused")
+    JpaMetamodelMappingContext jpaMetamodelMappingContext;
+
+    @MockitoBean(name = "offsetDateTimeProvider")
+    @SuppressWarnings("unused")
+    DateTimeProvider offsetDateTimeProvider;
+
+    private final Sinks.Many<DealResponse> deals = Sinks.many().multicast().onBackpressureBuffer();
+
+    @BeforeEach
+    void setUp() {
+        when(streamProperties.heartbeatInterval()).thenReturn(Duration.ofHours(1));
+    }
+
+    private DealResponse deal(String origin, String destination) {
+        return new DealResponse(UUID.randomUUID(), origin, destination, LocalDate.of(2026, 6, 1),
+                new BigDecimal("80.00"), new BigDecimal("120.00"), new BigDecimal("33.33"), "EUR",
+                OffsetDateTime.parse("2026-05-01T10:00:00Z"));
+    }
+
+    @Test
+    void getDeals_returnsRegistryDeals() throws Exception {
+        DealResponse deal = deal("WAW", "LHR");
+        when(dealsRegistry.getDeals()).thenReturn(List.of(deal));
+
+        mockMvc.perform(get("/deals"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].routeId").value(deal.routeId().toString()))
+                .andExpect(jsonPath("$[0].origin").value("WAW"));
+    }
+
+    @Test
+    void streamDeals_sse_sendsEachDealAsNamedEvent() throws Exception {
+        when(dealStream.subscribe(null, null)).thenReturn(deals.asFlux());
+        DealResponse deal = deal("WAW", "LHR");
+
+        MvcResult result = mockMvc.perform(get("/deals/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        deals.tryEmitNext(deal);
+
+        awaitUntil(() -> content(result).contains(deal.routeId().toString()));
+        assertTrue(content(result).startsWith("event:deal\ndata:{"));
+    }
+
+    @Test
+    void streamDeals_sse_sendsHeartbeatComments() throws Exception {
+        when(streamProperties.heartbeatInterval()).thenReturn(Duration.ofMillis(20));
+        when(dealStream.subscribe(null, null)).thenReturn(deals.asFlux());
+
+        MvcResult result = mockMvc.perform(get("/deals/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        awaitUntil(() -> content(result).contains(":heartbeat\n\n"));
+    }
+
+    @Test
+    void streamDeals_ndjson_writesOneJsonDocumentPerLine() throws Exception {
+        when(dealStream.subscribe(null, null)).thenReturn(deals.asFlux());
+        DealResponse first = deal("WAW", "LHR");
+        DealResponse second = deal("KRK", "BCN");
+
+        MvcResult result = mockMvc.perform(get("/deals/stream").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        deals.tryEmitNext(first);
+        deals.tryEmitNext(second);
+
+        awaitUntil(() -> content(result).contains(second.routeId().toString()));
+        String[] lines = content(result).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{") && lines[0].contains(first.routeId().toString()));
+        assertTrue(lines[1].startsWith("{") && lines[1].contains(second.routeId().toString()));
+    }
+
+    @Test
+    void streamDeals_passesOriginAndDestinationFilters() throws Exception {
+        when(dealStream.subscribe("KRK", "BCN")).thenReturn(deals.asFlux());
+
+        mockMvc.perform(get("/deals/stream").param("origin", "KRK").param("destination", "BCN")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+        mockMvc.perform(get("/deals/stream").param("origin", "KRK").param("destination", "BCN")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted());
+
+        verify(dealStream, times(2)).subscribe("KRK", "BCN");
+    }
+
+    @Test
+    void streamDeals_clientDisconnects_cancelsSubscription() throws Exception {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        when(dealStream.subscribe(null, null)).thenReturn(deals.asFlux().doOnCancel(() -> cancelled.set(true)));
+
+        MvcResult result = mockMvc.perform(get("/deals/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getRequest().getAsyncContext().complete();
+
+        awaitUntil(cancelled::get);
+        assertEquals(0, deals.currentSubscriberCount());
+    }
+
+    private static String content(MvcResult result) {
+        return result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) fail("Condition not met within 2s");
+            Thread.sleep(10);
+        }
+    }
+}
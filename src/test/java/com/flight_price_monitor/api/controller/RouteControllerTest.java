@@ -1,11 +1,14 @@
 package com.flight_price_monitor.api.controller;
 
-import com.flight_price_monitor.api.dto.PriceSnapshotResponse;
+import com.flight_price_monitor.api.dto.DailyPriceResponse;
 import com.flight_price_monitor.api.dto.RouteResponse;
 import com.flight_price_monitor.api.dto.RouteStatisticsResponse;
 import com.flight_price_monitor.application.AnomalyDetectionService;
+import com.flight_price_monitor.application.PriceHistoryService;
 import com.flight_price_monitor.application.RouteService;
+import com.flight_price_monitor.common.exception.InvalidPriceHistoryQueryException;
 import com.flight_price_monitor.common.exception.RouteNotFoundException;
+import com.flight_price_monitor.domain.model.PriceHistoryQuery;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
@@ -14,14 +17,18 @@ import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -40,6 +47,9 @@ class RouteControllerTest {
     @MockitoBean
     AnomalyDetectionService anomalyDetectionService;
 
+    @MockitoBean
+    PriceHistoryService priceHistoryService;
+
     @MockitoBean
     @SuppressWarnings("unused")
     JpaMetamodelMappingContext jpaMetamodelMappingContext;
@@ -177,18 +187,79 @@ class RouteControllerTest {
     }
 
     @Test
-    void getPriceHistory_returns200WithList() throws Exception {
+    void getPriceHistory_streamsPage() throws Exception {
+        UUID id = UUID.randomUUID();
+        PriceHistoryQuery query = new PriceHistoryQuery(id, null, null, null, 500);
+
+        when(priceHistoryService.prepareQuery(id, null, null, null, null)).thenReturn(query);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"items\":[{\"price\":199.99,\"currency\":\"EUR\"}],\"nextCursor\":null}"
+                    .getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(priceHistoryService).writePage(eq(query), any());
+
+        MvcResult result = mockMvc.perform(get("/routes/{id}/prices", id))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].price").value(199.99))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getPriceHistory_passesWindowAndCursor() throws Exception {
+        UUID id = UUID.randomUUID();
+        OffsetDateTime since = OffsetDateTime.parse("2026-10-11T00:00:00Z");
+
+        when(priceHistoryService.prepareQuery(id, since, null, 100, "abc"))
+                .thenReturn(new PriceHistoryQuery(id, since, null, null, 100));
+
+        mockMvc.perform(get("/routes/{id}/prices", id)
+                        .param("since", "2026-10-11T00:00:00Z")
+                        .param("limit", "100")
+                        .param("cursor", "abc"))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void getPriceHistory_invalidQuery_returns400() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        when(priceHistoryService.prepareQuery(id, null, null, 0, null))
+                .thenThrow(new InvalidPriceHistoryQueryException("limit must be between 1 and 5000"));
+
+        mockMvc.perform(get("/routes/{id}/prices", id).param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("limit must be between 1 and 5000"));
+    }
+
+    @Test
+    void getDailyPriceHistory_returns200WithList() throws Exception {
         UUID id = UUID.randomUUID();
-        PriceSnapshotResponse snapshot = new PriceSnapshotResponse(
-                UUID.randomUUID(), new BigDecimal("199.99"), "EUR", OffsetDateTime.now(), false);
+        DailyPriceResponse day = DailyPriceResponse.builder()
+                .date(LocalDate.of(2026, 9, 1))
+                .open(new BigDecimal("210.00"))
+                .close(new BigDecimal("190.00"))
+                .min(new BigDecimal("185.00"))
+                .max(new BigDecimal("215.00"))
+                .mean(new BigDecimal("200.00"))
+                .sampleCount(4)
+                .anomalyCount(0)
+                .currency("EUR")
+                .build();
 
-        when(anomalyDetectionService.getSnapshotsForRoute(id)).thenReturn(List.of(snapshot));
+        when(anomalyDetectionService.getDailyPricesForRoute(id)).thenReturn(List.of(day));
 
-        mockMvc.perform(get("/routes/{id}/prices", id))
+        mockMvc.perform(get("/routes/{id}/prices/daily", id))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].price").value(199.99))
-                .andExpect(jsonPath("$[0].currency").value("EUR"));
+                .andExpect(jsonPath("$[0].date").value("2026-09-01"))
+                .andExpect(jsonPath("$[0].close").value(190.00))
+                .andExpect(jsonPath("$[0].sampleCount").value(4));
     }
 
     @Test
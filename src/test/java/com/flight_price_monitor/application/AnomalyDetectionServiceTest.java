@@ -1,22 +1,36 @@
 package com.flight_price_monitor.application;
 
+import com.flight_price_monitor.api.dto.DealResponse;
 import com.flight_price_monitor.config.AnomalyProperties;
+import com.flight_price_monitor.domain.model.DailyPriceRollup;
+import com.flight_price_monitor.domain.model.DealCandidate;
+import com.flight_price_monitor.domain.model.PriceAggregate;
+import com.flight_price_monitor.domain.model.PriceQuantileSketch;
+import com.flight_price_monitor.domain.model.PriceSnapshot;
 import com.flight_price_monitor.persistence.entity.PriceSnapshotEntity;
 import com.flight_price_monitor.persistence.entity.RouteEntity;
-import com.flight_price_monitor.persistence.mapper.PriceSnapshotMapper;
+import com.flight_price_monitor.persistence.projection.RouteSummary;
+import com.flight_price_monitor.persistence.repository.AnomalyEvaluationBacklogRepository;
+import com.flight_price_monitor.persistence.repository.PriceSnapshotBatchRepository;
 import com.flight_price_monitor.persistence.repository.PriceSnapshotRepository;
+import com.flight_price_monitor.persistence.repository.PriceSnapshotRollupRepository;
+import com.flight_price_monitor.persistence.repository.RoutePriceStatsRepository;
 import com.flight_price_monitor.persistence.repository.RouteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,11 +50,29 @@ class AnomalyDetectionServiceTest {
     AnomalyProperties anomalyProperties;
 
     @Mock
-    PriceSnapshotMapper priceSnapshotMapper;
+    RoutePriceStatsRepository routePriceStatsRepository;
+
+    @Mock
+    PriceSnapshotRollupRepository rollupRepository;
+
+    @Mock
+    PriceSnapshotBatchRepository snapshotBatchRepository;
+
+    @Mock
+    AnomalyEvaluationBacklogRepository evaluationBacklogRepository;
+
+    SimpleMeterRegistry meterRegistry;
 
-    @InjectMocks
     AnomalyDetectionService anomalyDetectionService;
 
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        anomalyDetectionService = new AnomalyDetectionService(routeRepository, snapshotRepository, anomalyProperties,
+                routePriceStatsRepository, rollupRepository, snapshotBatchRepository, evaluationBacklogRepository,
+                meterRegistry);
+    }
+
     // Helpers
 
     private RouteEntity buildRoute(UUID id) {
@@ -54,6 +86,10 @@ class AnomalyDetectionServiceTest {
         return route;
     }
 
+    private RouteSummary summaryOf(RouteEntity route) {
+        return new RouteSummary(route.getId(), route.getOrigin(), route.getDestination(), route.getDepartureDate());
+    }
+
     private PriceSnapshotEntity buildSnapshot(RouteEntity route, BigDecimal price) {
         return PriceSnapshotEntity.builder()
                 .id(UUID.randomUUID())
@@ -74,61 +110,59 @@ class AnomalyDetectionServiceTest {
         );
     }
 
-    @Test
-    void evaluateAnomaly_withEnoughData_detectsAnomaly() {
-        UUID routeId = UUID.randomUUID();
-        RouteEntity route = buildRoute(routeId);
-
-        PriceSnapshotEntity currentSnapshot = buildSnapshot(route, new BigDecimal("50.00"));
-
-        when(anomalyProperties.minSamples()).thenReturn(5);
-        when(anomalyProperties.zScoreThreshold()).thenReturn(2.0);
-        when(snapshotRepository.findByRouteId(routeId)).thenReturn(fiveHistoricalSnapshots(route));
+    private PriceAggregate aggregateOf(String... prices) {
+        PriceAggregate aggregate = PriceAggregate.EMPTY;
+        for (String price : prices) {
+            aggregate = aggregate.add(new BigDecimal(price));
+        }
+        return aggregate;
+    }
 
-        anomalyDetectionService.evaluateAnomaly(currentSnapshot);
+    private PriceAggregate fiveHistoricalPrices() {
+        return aggregateOf("100.00", "150.00", "200.00", "250.00", "300.00");
+    }
 
-        assertTrue(currentSnapshot.getIsAnomaly(), "snapshot with very low price should be marked as anomaly");
-        verify(snapshotRepository, times(1)).save(currentSnapshot);
+    private PriceSnapshot newSnapshot(UUID routeId, String price) {
+        return new PriceSnapshot(UUID.randomUUID(), routeId, new BigDecimal(price), "EUR", OffsetDateTime.now(), false);
     }
 
     @Test
-    void evaluateAnomaly_withEnoughData_noAnomaly() {
-        UUID routeId = UUID.randomUUID();
-        RouteEntity route = buildRoute(routeId);
-
-        PriceSnapshotEntity currentSnapshot = buildSnapshot(route, new BigDecimal("180.00"));
+    void flagAnomalies_withEnoughHistory_flagsAndStoresOnlyCheapSnapshots() {
+        UUID cheapRoute = UUID.randomUUID();
+        UUID normalRoute = UUID.randomUUID();
+        Map<UUID, PriceAggregate> history = new HashMap<>(Map.of(
+                cheapRoute, aggregateOf("195.00", "200.00", "205.00", "200.00", "200.00", "120.00"),
+                normalRoute, aggregateOf("195.00", "200.00", "205.00", "200.00", "200.00", "198.00")));
 
         when(anomalyProperties.minSamples()).thenReturn(5);
         when(anomalyProperties.zScoreThreshold()).thenReturn(2.0);
-        when(snapshotRepository.findByRouteId(routeId)).thenReturn(fiveHistoricalSnapshots(route));
-
-        anomalyDetectionService.evaluateAnomaly(currentSnapshot);
-
-        assertFalse(currentSnapshot.getIsAnomaly(), "snapshot with normal price should NOT be flagged");
-        verify(snapshotRepository, never()).save(any());
+        when(routePriceStatsRepository.findByRouteIds(any())).thenReturn(history);
+
+        List<PriceSnapshot> stored = List.of(newSnapshot(cheapRoute, "120.00"), newSnapshot(normalRoute, "198.00"));
+        List<PriceSnapshot> evaluated = anomalyDetectionService.flagAnomalies(stored);
+
+        assertTrue(evaluated.get(0).isAnomaly(), "snapshot with very low price should be marked as anomaly");
+        assertFalse(evaluated.get(1).isAnomaly(), "snapshot with normal price should NOT be flagged");
+        verify(routePriceStatsRepository, times(1)).findByRouteIds(any());
+        verify(snapshotBatchRepository).markAnomalies(List.of(evaluated.get(0)));
+        verify(evaluationBacklogRepository).removeAll(stored);
+        assertEquals(1.0, meterRegistry.get("anomalies.detected").counter().count());
+        assertEquals(1, meterRegistry.get("anomaly.evaluation").timer().count());
     }
 
     @Test
-    void evaluateAnomaly_withInsufficientData_skipsEvaluation() {
+    void flagAnomalies_withInsufficientHistory_skipsEvaluation() {
         UUID routeId = UUID.randomUUID();
-        RouteEntity route = buildRoute(routeId);
-
-        PriceSnapshotEntity currentSnapshot = buildSnapshot(route, new BigDecimal("50.00"));
-
-        List<PriceSnapshotEntity> tooFewSnapshots = List.of(
-                buildSnapshot(route, new BigDecimal("200.00")),
-                buildSnapshot(route, new BigDecimal("210.00")),
-                buildSnapshot(route, new BigDecimal("190.00"))
-        );
 
         when(anomalyProperties.minSamples()).thenReturn(5);
-        when(snapshotRepository.findByRouteId(routeId)).thenReturn(tooFewSnapshots);
+        when(routePriceStatsRepository.findByRouteIds(any()))
+                .thenReturn(new HashMap<>(Map.of(routeId, aggregateOf("200.00", "210.00", "190.00"))));
 
-        anomalyDetectionService.evaluateAnomaly(currentSnapshot);
+        List<PriceSnapshot> evaluated = anomalyDetectionService.flagAnomalies(List.of(newSnapshot(routeId, "50.00")));
 
-        assertFalse(currentSnapshot.getIsAnomaly(), "anomaly detection should be skipped with insufficient data");
-        verify(snapshotRepository, never()).save(any());
+        assertFalse(evaluated.getFirst().isAnomaly(), "anomaly detection should be skipped with insufficient data");
         verify(anomalyProperties, never()).zScoreThreshold();
+        verify(snapshotBatchRepository).markAnomalies(List.of());
     }
 
     @Test
@@ -137,19 +171,78 @@ class AnomalyDetectionServiceTest {
         RouteEntity route = buildRoute(routeId);
 
         List<PriceSnapshotEntity> snapshots = fiveHistoricalSnapshots(route);
-        PriceSnapshotEntity latestSnapshot = snapshots.get(snapshots.size() - 1);
 
-        when(routeRepository.findById(routeId)).thenReturn(Optional.of(route));
-        when(snapshotRepository.findByRouteId(routeId)).thenReturn(snapshots);
-        when(snapshotRepository.findFirstByRouteIdOrderByRetrievedAtDesc(routeId))
-                .thenReturn(Optional.of(latestSnapshot));
+        when(routeRepository.findSummaryById(routeId)).thenReturn(Optional.of(summaryOf(route)));
+        when(routePriceStatsRepository.findByRouteId(routeId)).thenReturn(Optional.of(fiveHistoricalPrices()));
+        when(snapshotRepository.findLatestPriceByRouteId(routeId))
+                .thenReturn(Optional.of(snapshots.getLast().getPrice()));
+        PriceQuantileSketch sketch = PriceQuantileSketch.of(
+                snapshots.stream().map(PriceSnapshotEntity::getPrice).toList());
+        when(routePriceStatsRepository.findQuantileSketch(routeId)).thenReturn(Optional.of(sketch));
 
         var stats = anomalyDetectionService.getStatistics(routeId);
 
         assertEquals(routeId, stats.routeId());
+        assertEquals("KRK", stats.origin());
         assertEquals(new java.math.BigDecimal("200.00"), stats.mean());
+        assertEquals(sketch.quantile(0.5), stats.median());
+        assertEquals(200.0, stats.median().doubleValue(), 200.0 * PriceQuantileSketch.RELATIVE_ACCURACY);
+        assertTrue(stats.p10().compareTo(stats.p25()) <= 0);
+        assertTrue(stats.p75().compareTo(stats.p90()) <= 0);
+        assertEquals(new java.math.BigDecimal("100.00"), stats.min());
+        assertEquals(new java.math.BigDecimal("300.00"), stats.max());
         assertEquals(new java.math.BigDecimal("300.00"), stats.currentPrice());
         assertEquals(5, stats.sampleCount());
+        verify(snapshotRepository).findLatestPriceByRouteId(routeId);
+        verifyNoMoreInteractions(snapshotRepository);
+    }
+
+    @Test
+    void getStatistics_withOnlyRolledUpHistory_usesLatestDailyClose() {
+        UUID routeId = UUID.randomUUID();
+        RouteEntity route = buildRoute(routeId);
+        DailyPriceRollup rollup = DailyPriceRollup.of(LocalDate.now().minusDays(40), List.of(
+                new PriceSnapshot(UUID.randomUUID(), routeId, new BigDecimal("210.00"), "EUR",
+                        OffsetDateTime.now().minusDays(40), false),
+                new PriceSnapshot(UUID.randomUUID(), routeId, new BigDecimal("190.00"), "EUR",
+                        OffsetDateTime.now().minusDays(40).plusHours(6), false)));
+
+        when(routeRepository.findSummaryById(routeId)).thenReturn(Optional.of(summaryOf(route)));
+        when(routePriceStatsRepository.findByRouteId(routeId)).thenReturn(Optional.of(fiveHistoricalPrices()));
+        when(snapshotRepository.findLatestPriceByRouteId(routeId)).thenReturn(Optional.empty());
+        when(rollupRepository.findLatestByRouteId(routeId)).thenReturn(Optional.of(rollup));
+        when(routePriceStatsRepository.findQuantileSketch(routeId))
+                .thenReturn(Optional.of(PriceQuantileSketch.of(List.of(new BigDecimal("200.00")))));
+
+        var stats = anomalyDetectionService.getStatistics(routeId);
+
+        assertEquals(new BigDecimal("190.00"), stats.currentPrice());
+        assertEquals(new BigDecimal("200.00"), stats.mean());
+    }
+
+    @Test
+    void getDailyPricesForRoute_mapsRollups() {
+        UUID routeId = UUID.randomUUID();
+        LocalDate day = LocalDate.now().minusDays(40);
+        OffsetDateTime morning = day.atStartOfDay().atOffset(java.time.ZoneOffset.UTC).plusHours(6);
+        DailyPriceRollup rollup = DailyPriceRollup.of(day, List.of(
+                new PriceSnapshot(UUID.randomUUID(), routeId, new BigDecimal("150.00"), "EUR", morning.plusHours(6), true),
+                new PriceSnapshot(UUID.randomUUID(), routeId, new BigDecimal("200.00"), "EUR", morning, false),
+                new PriceSnapshot(UUID.randomUUID(), routeId, new BigDecimal("250.00"), "EUR", morning.plusHours(12), false)));
+
+        when(routeRepository.existsById(routeId)).thenReturn(true);
+        when(rollupRepository.findByRouteId(routeId)).thenReturn(List.of(rollup));
+
+        var daily = anomalyDetectionService.getDailyPricesForRoute(routeId).getFirst();
+
+        assertEquals(day, daily.date());
+        assertEquals(new BigDecimal("200.00"), daily.open());
+        assertEquals(new BigDecimal("250.00"), daily.close());
+        assertEquals(new BigDecimal("150.00"), daily.min());
+        assertEquals(new BigDecimal("250.00"), daily.max());
+        assertEquals(new BigDecimal("200.00"), daily.mean());
+        assertEquals(3, daily.sampleCount());
+        assertEquals(1, daily.anomalyCount());
     }
 
     @Test
@@ -157,8 +250,8 @@ class AnomalyDetectionServiceTest {
         UUID routeId = UUID.randomUUID();
         RouteEntity route = buildRoute(routeId);
 
-        when(routeRepository.findById(routeId)).thenReturn(Optional.of(route));
-        when(snapshotRepository.findByRouteId(routeId)).thenReturn(List.of());
+        when(routeRepository.findSummaryById(routeId)).thenReturn(Optional.of(summaryOf(route)));
+        when(routePriceStatsRepository.findByRouteId(routeId)).thenReturn(Optional.empty());
         when(anomalyProperties.minSamples()).thenReturn(5);
 
         assertThrows(
@@ -167,42 +260,57 @@ class AnomalyDetectionServiceTest {
         );
     }
 
+    private DealCandidate dealCandidate(RouteEntity route, String currentPrice) {
+        return new DealCandidate(route.getId(), route.getOrigin(), route.getDestination(), route.getDepartureDate(),
+                fiveHistoricalPrices(), new BigDecimal(currentPrice), "EUR", OffsetDateTime.now());
+    }
+
     @Test
     void getCurrentDeals_filtersAnomalies_returnsDeals() {
-        UUID routeId = UUID.randomUUID();
-        RouteEntity route = buildRoute(routeId);
+        RouteEntity anomalousRoute = buildRoute(UUID.randomUUID());
+        RouteEntity normalRoute = buildRoute(UUID.randomUUID());
 
-        List<PriceSnapshotEntity> snapshots = fiveHistoricalSnapshots(route);
-        PriceSnapshotEntity latestSnapshot = buildSnapshot(route, new BigDecimal("50.00"));
-
-        when(routeRepository.findAllByActiveTrue()).thenReturn(List.of(route));
-        when(snapshotRepository.findByRouteId(routeId)).thenReturn(snapshots);
-        when(snapshotRepository.findFirstByRouteIdOrderByRetrievedAtDesc(routeId))
-                .thenReturn(Optional.of(latestSnapshot));
+        when(routePriceStatsRepository.findDealCandidates(5)).thenReturn(List.of(
+                dealCandidate(normalRoute, "195.00"),
+                dealCandidate(anomalousRoute, "50.00")));
         when(anomalyProperties.minSamples()).thenReturn(5);
         when(anomalyProperties.zScoreThreshold()).thenReturn(2.0);
         when(anomalyProperties.percentageThreshold()).thenReturn(0.7);
 
         var deals = anomalyDetectionService.getCurrentDeals();
 
-        assertFalse(deals.isEmpty(), "anomalous route should appear in deals");
-        assertEquals(routeId, deals.get(0).routeId());
+        assertEquals(1, deals.size(), "only the anomalous route should appear in deals");
+        assertEquals(anomalousRoute.getId(), deals.get(0).routeId());
+        assertEquals(new BigDecimal("200.00"), deals.get(0).averagePrice());
+        assertEquals(new BigDecimal("50.00"), deals.get(0).currentPrice());
         assertTrue(deals.get(0).dropPercentage().compareTo(BigDecimal.ZERO) > 0,
                 "drop percentage should be positive");
+        verifyNoInteractions(snapshotRepository);
     }
 
     @Test
-    void getCurrentDeals_noDeals_returnsEmptyList() {
-        UUID routeId = UUID.randomUUID();
-        RouteEntity route = buildRoute(routeId);
+    void getCurrentDeals_sortsByDropPercentageDescending() {
+        RouteEntity smallerDrop = buildRoute(UUID.randomUUID());
+        RouteEntity biggerDrop = buildRoute(UUID.randomUUID());
 
-        List<PriceSnapshotEntity> snapshots = fiveHistoricalSnapshots(route);
-        PriceSnapshotEntity latestSnapshot = buildSnapshot(route, new BigDecimal("195.00"));
+        when(routePriceStatsRepository.findDealCandidates(5)).thenReturn(List.of(
+                dealCandidate(smallerDrop, "55.00"),
+                dealCandidate(biggerDrop, "40.00")));
+        when(anomalyProperties.minSamples()).thenReturn(5);
+        when(anomalyProperties.zScoreThreshold()).thenReturn(2.0);
+        when(anomalyProperties.percentageThreshold()).thenReturn(0.7);
+
+        var deals = anomalyDetectionService.getCurrentDeals();
+
+        assertEquals(List.of(biggerDrop.getId(), smallerDrop.getId()),
+                deals.stream().map(DealResponse::routeId).toList());
+    }
+
+    @Test
+    void getCurrentDeals_noDeals_returnsEmptyList() {
+        RouteEntity route = buildRoute(UUID.randomUUID());
 
-        when(routeRepository.findAllByActiveTrue()).thenReturn(List.of(route));
-        when(snapshotRepository.findByRouteId(routeId)).thenReturn(snapshots);
-        when(snapshotRepository.findFirstByRouteIdOrderByRetrievedAtDesc(routeId))
-                .thenReturn(Optional.of(latestSnapshot));
+        when(routePriceStatsRepository.findDealCandidates(5)).thenReturn(List.of(dealCandidate(route, "195.00")));
         when(anomalyProperties.minSamples()).thenReturn(5);
         when(anomalyProperties.zScoreThreshold()).thenReturn(2.0);
         when(anomalyProperties.percentageThreshold()).thenReturn(0.7);
@@ -0,0 +1,104 @@
+package com.flight_price_monitor.application;
+
+import com.flight_price_monitor.config.AnomalyEvaluationProperties;
+import com.flight_price_monitor.domain.model.PriceSnapshot;
+import com.flight_price_monitor.persistence.repository.AnomalyEvaluationBacklogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AnomalyEvaluationQueueTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AnomalyEvaluationBacklogRepository backlogRepository = mock(AnomalyEvaluationBacklogRepository.class);
+
+    private AnomalyEvaluationQueue buildQueue(int capacity) {
+        return new AnomalyEvaluationQueue(backlogRepository, new AnomalyEvaluationProperties(capacity,
+                Math.min(capacity, 3), Duration.ofMillis(50), Duration.ofMinutes(5)), meterRegistry);
+    }
+
+    private List<PriceSnapshot> buildSnapshots(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new PriceSnapshot(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("150.00"), "EUR",
+                        OffsetDateTime.now(), false))
+                .toList();
+    }
+
+    @Test
+    void take_drainsUpToMaxBatchSize() throws InterruptedException {
+        AnomalyEvaluationQueue queue = buildQueue(10);
+        List<PriceSnapshot> snapshots = buildSnapshots(5);
+        queue.submit(snapshots);
+
+        assertEquals(snapshots.subList(0, 3), queue.take(3, Duration.ofMillis(50)));
+        assertEquals(snapshots.subList(3, 5), queue.take(3, Duration.ofMillis(50)));
+        assertEquals(0.0, meterRegistry.get("anomaly.evaluation.queue").gauge().value());
+    }
+
+    @Test
+    void take_emptyQueue_returnsEmptyBatchAfterWaiting() throws InterruptedException {
+        assertTrue(buildQueue(10).take(3, Duration.ofMillis(20)).isEmpty());
+    }
+
+    @Test
+    void submit_fullQueue_blocksUntilEvaluatorCatchesUp() throws Exception {
+        AnomalyEvaluationQueue queue = buildQueue(2);
+        List<PriceSnapshot> snapshots = buildSnapshots(4);
+
+        CompletableFuture<Void> submitted = CompletableFuture.runAsync(() -> queue.submit(snapshots));
+        Thread.sleep(100);
+        assertFalse(submitted.isDone(), "submit should wait while the queue is full");
+
+        assertEquals(snapshots.subList(0, 2), queue.take(2, Duration.ofSeconds(1)));
+        submitted.get(1, TimeUnit.SECONDS);
+        assertEquals(snapshots.subList(2, 4), queue.drain());
+    }
+
+    @Test
+    void submit_interrupted_countsSnapshotsLeftForRecovery() {
+        AnomalyEvaluationQueue queue = buildQueue(10);
+
+        Thread.currentThread().interrupt();
+        queue.submit(buildSnapshots(4));
+
+        assertTrue(Thread.interrupted(), "submit should keep the interrupt flag");
+        assertEquals(4.0, meterRegistry.get("anomaly.evaluation.dropped").counter().count());
+    }
+
+    @Test
+    void recoverStale_queuesStaleBacklogUpToFreeCapacity() {
+        AnomalyEvaluationQueue queue = buildQueue(3);
+        List<PriceSnapshot> fresh = buildSnapshots(1);
+        List<PriceSnapshot> stale = buildSnapshots(2);
+        queue.submit(fresh);
+        when(backlogRepository.claimStale(any(), any(), eq(2))).thenReturn(stale);
+
+        assertEquals(2, queue.recoverStale());
+
+        assertEquals(List.of(fresh.getFirst(), stale.get(0), stale.get(1)), queue.drain());
+        assertEquals(2.0, meterRegistry.get("anomaly.evaluation.recovered").counter().count());
+    }
+
+    @Test
+    void recoverStale_fullQueue_leavesBacklogForNextSweep() {
+        AnomalyEvaluationQueue queue = buildQueue(2);
+        queue.submit(buildSnapshots(2));
+
+        assertEquals(0, queue.recoverStale());
+
+        verifyNoInteractions(backlogRepository);
+    }
+}
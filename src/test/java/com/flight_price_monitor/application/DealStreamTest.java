@@ -0,0 +1,75 @@
+package com.flight_price_monitor.application;
+
+import com.flight_price_monitor.api.dto.DealResponse;
+import com.flight_price_monitor.config.DealStreamProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DealStreamTest {
+
+    DealStream dealStream;
+
+    @BeforeEach
+    void setUp() {
+        dealStream = new DealStream(new DealStreamProperties(2, Duration.ofSeconds(15)));
+    }
+
+    private DealResponse buildDeal(String origin, String destination) {
+        return new DealResponse(UUID.randomUUID(), origin, destination, LocalDate.of(2026, 6, 1),
+                new BigDecimal("80.00"), new BigDecimal("150.00"), new BigDecimal("46.67"), "EUR",
+                OffsetDateTime.now());
+    }
+
+    @Test
+    void subscribe_filtersByOriginAndDestination() throws Exception {
+        DealResponse matching = buildDeal("KRK", "BCN");
+        CompletableFuture<List<DealResponse>> received = dealStream.subscribe("krk", "bcn")
+                .take(1)
+                .collectList()
+                .toFuture();
+
+        dealStream.publish(buildDeal("WAW", "BCN"));
+        dealStream.publish(buildDeal("KRK", "LIS"));
+        dealStream.publish(matching);
+
+        assertEquals(List.of(matching), received.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void publish_slowSubscriber_dropsOldestDealsWithoutBlocking() {
+        List<DealResponse> received = new CopyOnWriteArrayList<>();
+        BaseSubscriber<DealResponse> slowSubscriber = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+            }
+
+            @Override
+            protected void hookOnNext(DealResponse deal) {
+                received.add(deal);
+            }
+        };
+        dealStream.subscribe(null, null).subscribe(slowSubscriber);
+        List<DealResponse> deals = List.of(buildDeal("KRK", "BCN"), buildDeal("KRK", "LIS"),
+                buildDeal("WAW", "BCN"), buildDeal("WAW", "LIS"));
+
+        deals.forEach(dealStream::publish);
+        slowSubscriber.request(deals.size());
+
+        assertEquals(deals.subList(2, 4), received);
+        slowSubscriber.dispose();
+    }
+}
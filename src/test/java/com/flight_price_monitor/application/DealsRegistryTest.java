@@ -0,0 +1,148 @@
+package com.flight_price_monitor.application;
+
+import com.flight_price_monitor.api.dto.DealResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealsRegistryTest {
+
+    @Mock
+    AnomalyDetectionService anomalyDetectionService;
+
+    @Mock
+    DealStream dealStream;
+
+    @InjectMocks
+    DealsRegistry dealsRegistry;
+
+    // Helpers
+
+    private DealResponse buildDeal(UUID routeId, String dropPercentage) {
+        return DealResponse.builder()
+                .routeId(routeId)
+                .origin("KRK")
+                .destination("BCN")
+                .departureDate(LocalDate.now().plusMonths(3))
+                .currentPrice(new BigDecimal("80.00"))
+                .averagePrice(new BigDecimal("200.00"))
+                .dropPercentage(new BigDecimal(dropPercentage))
+                .currency("EUR")
+                .retrievedAt(OffsetDateTime.now())
+                .build();
+    }
+
+    @Test
+    void getDeals_beforeRebuild_returnsEmptyList() {
+        assertTrue(dealsRegistry.getDeals().isEmpty());
+        verifyNoInteractions(anomalyDetectionService);
+    }
+
+    @Test
+    void rebuild_loadsDealsSortedByDropPercentage() {
+        DealResponse small = buildDeal(UUID.randomUUID(), "35.0000");
+        DealResponse big = buildDeal(UUID.randomUUID(), "60.0000");
+        when(anomalyDetectionService.getCurrentDeals()).thenReturn(List.of(small, big));
+
+        dealsRegistry.rebuild();
+
+        assertEquals(List.of(big, small), dealsRegistry.getDeals());
+        verifyNoInteractions(dealStream);
+    }
+
+    @Test
+    void onPriceSnapshotsStored_updatesOnlyAffectedRoutes() {
+        UUID unchangedRoute = UUID.randomUUID();
+        UUID noLongerDealRoute = UUID.randomUUID();
+        UUID newDealRoute = UUID.randomUUID();
+        DealResponse unchanged = buildDeal(unchangedRoute, "40.0000");
+        DealResponse newDeal = buildDeal(newDealRoute, "50.0000");
+        when(anomalyDetectionService.getCurrentDeals())
+                .thenReturn(List.of(unchanged, buildDeal(noLongerDealRoute, "45.0000")));
+        when(anomalyDetectionService.getDeals(Set.of(noLongerDealRoute, newDealRoute))).thenReturn(List.of(newDeal));
+        dealsRegistry.rebuild();
+
+        dealsRegistry.onPriceSnapshotsStored(new PriceSnapshotsStoredEvent(Set.of(noLongerDealRoute, newDealRoute)));
+
+        assertEquals(List.of(newDeal, unchanged), dealsRegistry.getDeals());
+    }
+
+    @Test
+    void onPriceSnapshotsStored_streamsOnlyNewOrChangedDeals() {
+        UUID sameRoute = UUID.randomUUID();
+        UUID changedRoute = UUID.randomUUID();
+        UUID newDealRoute = UUID.randomUUID();
+        DealResponse same = buildDeal(sameRoute, "40.0000");
+        DealResponse changed = buildDeal(changedRoute, "55.0000");
+        DealResponse newDeal = buildDeal(newDealRoute, "30.0000");
+        Set<UUID> routeIds = Set.of(sameRoute, changedRoute, newDealRoute);
+        when(anomalyDetectionService.getCurrentDeals()).thenReturn(List.of(same, buildDeal(changedRoute, "45.0000")));
+        when(anomalyDetectionService.getDeals(routeIds)).thenReturn(List.of(same, changed, newDeal));
+        dealsRegistry.rebuild();
+
+        dealsRegistry.onPriceSnapshotsStored(new PriceSnapshotsStoredEvent(routeIds));
+
+        verify(dealStream).publish(changed);
+        verify(dealStream).publish(newDeal);
+        verifyNoMoreInteractions(dealStream);
+    }
+
+    @Test
+    void reconcile_picksUpDealsChangedOnOtherInstances() {
+        UUID sameRoute = UUID.randomUUID();
+        UUID changedRoute = UUID.randomUUID();
+        UUID deactivatedRoute = UUID.randomUUID();
+        UUID newDealRoute = UUID.randomUUID();
+        DealResponse same = buildDeal(sameRoute, "40.0000");
+        DealResponse changed = buildDeal(changedRoute, "55.0000");
+        DealResponse newDeal = buildDeal(newDealRoute, "30.0000");
+        when(anomalyDetectionService.getCurrentDeals())
+                .thenReturn(List.of(same, buildDeal(changedRoute, "45.0000"), buildDeal(deactivatedRoute, "50.0000")))
+                .thenReturn(List.of(same, changed, newDeal));
+        dealsRegistry.rebuild();
+
+        dealsRegistry.reconcile();
+
+        assertEquals(List.of(changed, same, newDeal), dealsRegistry.getDeals());
+        verify(dealStream).publish(changed);
+        verify(dealStream).publish(newDeal);
+        verifyNoMoreInteractions(dealStream);
+    }
+
+    @Test
+    void onRouteStatusChanged_deactivated_removesDealWithoutQuerying() {
+        UUID routeId = UUID.randomUUID();
+        when(anomalyDetectionService.getCurrentDeals()).thenReturn(List.of(buildDeal(routeId, "40.0000")));
+        dealsRegistry.rebuild();
+
+        dealsRegistry.onRouteStatusChanged(new RouteStatusChangedEvent(routeId, false));
+
+        assertTrue(dealsRegistry.getDeals().isEmpty());
+        verify(anomalyDetectionService, never()).getDeals(any());
+    }
+
+    @Test
+    void onRouteStatusChanged_activated_evaluatesRoute() {
+        UUID routeId = UUID.randomUUID();
+        DealResponse deal = buildDeal(routeId, "40.0000");
+        when(anomalyDetectionService.getDeals(List.of(routeId))).thenReturn(List.of(deal));
+
+        dealsRegistry.onRouteStatusChanged(new RouteStatusChangedEvent(routeId, true));
+
+        assertEquals(List.of(deal), dealsRegistry.getDeals());
+    }
+}
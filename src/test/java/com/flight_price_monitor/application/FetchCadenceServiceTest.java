@@ -0,0 +1,53 @@
+package com.flight_price_monitor.application;
+
+import com.flight_price_monitor.config.AnomalyProperties;
+import com.flight_price_monitor.config.FetchCadenceProperties;
+import com.flight_price_monitor.domain.model.FetchCadenceInput;
+import com.flight_price_monitor.persistence.repository.RouteFetchScheduleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FetchCadenceServiceTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2026, 3, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    RouteFetchScheduleRepository scheduleRepository;
+
+    private FetchCadenceService buildService() {
+        return new FetchCadenceService(scheduleRepository,
+                new FetchCadenceProperties(Duration.ofHours(1), Duration.ofHours(24), Duration.ofHours(2), 90, 0.05,
+                        Duration.ofDays(7)),
+                new AnomalyProperties(5, 2.0, 0.7));
+    }
+
+    @Test
+    void scheduleNextFetches_plansEachRouteFromItsRecentHistory() {
+        UUID newRoute = UUID.randomUUID();
+        UUID stableRoute = UUID.randomUUID();
+        when(scheduleRepository.findCadenceInputs(Set.of(newRoute, stableRoute), NOW.minusDays(7))).thenReturn(List.of(
+                new FetchCadenceInput(newRoute, NOW.toLocalDate().plusDays(200), 1, null, null),
+                new FetchCadenceInput(stableRoute, NOW.toLocalDate().plusDays(200), 40,
+                        new BigDecimal("200.00"), BigDecimal.ZERO)));
+
+        Map<UUID, OffsetDateTime> nextFetchAt = buildService().scheduleNextFetches(Set.of(newRoute, stableRoute), NOW);
+
+        assertEquals(Map.of(newRoute, NOW.plusHours(2), stableRoute, NOW.plusHours(24)), nextFetchAt);
+        verify(scheduleRepository).updateNextFetchAt(nextFetchAt);
+    }
+}
@@ -0,0 +1,138 @@
+package com.flight_price_monitor.application;
+
+import com.flight_price_monitor.config.FetchCadenceProperties;
+import com.flight_price_monitor.config.FetchQueueProperties;
+import com.flight_price_monitor.domain.model.FetchTask;
+import com.flight_price_monitor.domain.model.FetchTaskRetry;
+import com.flight_price_monitor.domain.model.Route;
+import com.flight_price_monitor.persistence.repository.FetchTaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FetchTaskQueueServiceTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2026, 3, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    FetchTaskRepository taskRepository;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private FetchTaskQueueService buildService(String nodeId) {
+        return new FetchTaskQueueService(taskRepository,
+                new FetchQueueProperties(nodeId, 2, Duration.ofSeconds(5), Duration.ofMinutes(2),
+                        Duration.ofSeconds(30), 3, Duration.ofSeconds(30), Duration.ofMinutes(10)),
+                new FetchCadenceProperties(Duration.ofHours(1), Duration.ofHours(24), Duration.ofHours(1), 90, 0.05,
+                        Duration.ofDays(7)),
+                meterRegistry, Clock.fixed(NOW.toInstant(), ZoneOffset.UTC));
+    }
+
+    private FetchTask buildTask(long id, int attempts) {
+        return new FetchTask(id,
+                new Route(UUID.randomUUID(), "KRK", "BCN", LocalDate.of(2026, 6, 1), true, NOW.minusDays(1)),
+                attempts);
+    }
+
+    @Test
+    void enqueueDueRoutes_enqueuesRoutesDueNowThatHaveNotDeparted() {
+        when(taskRepository.enqueueDue(NOW, NOW, LocalDate.of(2026, 3, 1))).thenReturn(12);
+
+        assertEquals(12, buildService("node-a").enqueueDueRoutes());
+    }
+
+    @Test
+    void claim_leasesTasksForConfiguredDuration() {
+        FetchTask task = buildTask(1, 1);
+        when(taskRepository.claim("node-a", NOW, NOW.plusMinutes(2), 100)).thenReturn(List.of(task));
+
+        assertEquals(List.of(task), buildService("node-a").claim(100));
+    }
+
+    @Test
+    void fail_retriesWithBackoffUntilMaxAttempts() {
+        FetchTask firstAttempt = buildTask(1, 1);
+        FetchTask secondAttempt = buildTask(2, 2);
+        FetchTask lastAttempt = buildTask(3, 3);
+
+        buildService("node-a").fail(Map.of(firstAttempt, "timeout", secondAttempt, "timeout", lastAttempt, "404"));
+
+        verify(taskRepository).retry(eq("node-a"), argThat(retries -> Set.copyOf(retries).equals(Set.of(
+                new FetchTaskRetry(1, NOW.plusSeconds(30), "timeout"),
+                new FetchTaskRetry(2, NOW.plusSeconds(60), "timeout")))));
+        verify(taskRepository).giveUp(eq("node-a"), eq(Map.of(3L, "404")), any());
+    }
+
+    @Test
+    void fail_givingUp_pushesRouteBackByMaxCadenceInterval() {
+        FetchTask lastAttempt = buildTask(3, 3);
+
+        buildService("node-a").fail(Map.of(lastAttempt, "No flights found"));
+
+        verify(taskRepository).giveUp("node-a", Map.of(3L, "No flights found"), NOW.plusHours(24));
+        verify(taskRepository).retry("node-a", List.of());
+    }
+
+    @Test
+    void postpone_reschedulesRejectedTasksAfterInitialBackoff() {
+        FetchTask rejected = buildTask(4, 3);
+
+        buildService("node-a").postpone(Map.of(rejected, "Too many concurrent Amadeus calls"));
+
+        verify(taskRepository).postpone("node-a",
+                List.of(new FetchTaskRetry(4, NOW.plusSeconds(30), "Too many concurrent Amadeus calls")));
+        verify(taskRepository, never()).giveUp(any(), any(), any());
+    }
+
+    @Test
+    void renewLeases_extendsLeasesHeldByThisNode() {
+        when(taskRepository.renew("node-a", NOW.plusMinutes(2))).thenReturn(7);
+
+        assertEquals(7, buildService("node-a").renewLeases());
+    }
+
+    @Test
+    void completeAndReleaseAll_onlyTouchThisNodesTasks() {
+        UUID routeId = UUID.randomUUID();
+        FetchTaskQueueService service = buildService("node-a");
+
+        service.complete(Set.of(routeId));
+        service.releaseAll();
+
+        verify(taskRepository).complete("node-a", Set.of(routeId));
+        verify(taskRepository).releaseAll("node-a");
+    }
+
+    @Test
+    void queueDepth_isExposedPerStatus() {
+        when(taskRepository.countByStatus(FetchTaskRepository.PENDING)).thenReturn(40L);
+        buildService("node-a");
+
+        assertEquals(40.0, meterRegistry.get("fetch.queue.tasks").tag("status", "pending").gauge().value());
+    }
+
+    @Test
+    void nodeId_notConfigured_generatesUniqueId() {
+        String first = buildService("").nodeId();
+        String second = buildService(null).nodeId();
+
+        assertFalse(first.isBlank());
+        assertNotEquals(first, second);
+    }
+}
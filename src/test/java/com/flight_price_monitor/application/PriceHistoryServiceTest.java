@@ -0,0 +1,147 @@
+package com.flight_price_monitor.application;
+
+import com.flight_price_monitor.common.exception.InvalidPriceHistoryQueryException;
+import com.flight_price_monitor.common.exception.RouteNotFoundException;
+import com.flight_price_monitor.config.PriceHistoryProperties;
+import com.flight_price_monitor.domain.model.PriceHistoryCursor;
+import com.flight_price_monitor.domain.model.PriceHistoryQuery;
+import com.flight_price_monitor.domain.model.PriceSnapshot;
+import com.flight_price_monitor.persistence.mapper.PriceSnapshotMapper;
+import com.flight_price_monitor.persistence.repository.PriceHistoryRepository;
+import com.flight_price_monitor.persistence.repository.RouteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PriceHistoryServiceTest {
+
+    private static final UUID ROUTE_ID = UUID.randomUUID();
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2026-10-18T12:00:00Z");
+
+    @Mock
+    RouteRepository routeRepository;
+
+    @Mock
+    PriceHistoryRepository priceHistoryRepository;
+
+    JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    PriceHistoryService priceHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        priceHistoryService = new PriceHistoryService(routeRepository, priceHistoryRepository, new PriceSnapshotMapper(),
+                new PriceHistoryProperties(500, 5000), jsonMapper);
+    }
+
+    // Helpers
+
+    private static PriceSnapshot snapshot(int hoursAgo, String price) {
+        return new PriceSnapshot(UUID.randomUUID(), ROUTE_ID, new BigDecimal(price), "EUR", NOW.minusHours(hoursAgo), false);
+    }
+
+    private void givenRows(List<PriceSnapshot> rows) {
+        doAnswer(invocation -> {
+            PriceHistoryQuery query = invocation.getArgument(0);
+            rows.stream().limit(query.limit()).forEach(invocation.<Consumer<PriceSnapshot>>getArgument(1));
+            return null;
+        }).when(priceHistoryRepository).forEach(any(), any());
+    }
+
+    private JsonNode writePage(PriceHistoryQuery query) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        priceHistoryService.writePage(query, out);
+        return jsonMapper.readTree(out.toByteArray());
+    }
+
+    @Test
+    void prepareQuery_withoutLimit_usesDefaultLimit() {
+        when(routeRepository.existsById(ROUTE_ID)).thenReturn(true);
+
+        PriceHistoryQuery query = priceHistoryService.prepareQuery(ROUTE_ID, null, null, null, null);
+
+        assertEquals(500, query.limit());
+        assertNull(query.after());
+    }
+
+    @Test
+    void prepareQuery_unknownRoute_throwsRouteNotFound() {
+        when(routeRepository.existsById(ROUTE_ID)).thenReturn(false);
+
+        assertThrows(RouteNotFoundException.class,
+                () -> priceHistoryService.prepareQuery(ROUTE_ID, null, null, null, null));
+    }
+
+    @Test
+    void prepareQuery_limitAboveMax_throwsInvalidQuery() {
+        when(routeRepository.existsById(ROUTE_ID)).thenReturn(true);
+
+        assertThrows(InvalidPriceHistoryQueryException.class,
+                () -> priceHistoryService.prepareQuery(ROUTE_ID, null, null, 5001, null));
+    }
+
+    @Test
+    void prepareQuery_sinceNotBeforeUntil_throwsInvalidQuery() {
+        when(routeRepository.existsById(ROUTE_ID)).thenReturn(true);
+
+        assertThrows(InvalidPriceHistoryQueryException.class,
+                () -> priceHistoryService.prepareQuery(ROUTE_ID, NOW, NOW, null, null));
+    }
+
+    @Test
+    void prepareQuery_malformedCursor_throwsInvalidQuery() {
+        when(routeRepository.existsById(ROUTE_ID)).thenReturn(true);
+
+        assertThrows(InvalidPriceHistoryQueryException.class,
+                () -> priceHistoryService.prepareQuery(ROUTE_ID, null, null, null, "not-a-cursor"));
+    }
+
+    @Test
+    void prepareQuery_withCursor_decodesPosition() {
+        when(routeRepository.existsById(ROUTE_ID)).thenReturn(true);
+        PriceHistoryCursor cursor = new PriceHistoryCursor(NOW, UUID.randomUUID());
+
+        PriceHistoryQuery query = priceHistoryService.prepareQuery(ROUTE_ID, null, null, 10, cursor.encode());
+
+        assertEquals(cursor, query.after());
+    }
+
+    @Test
+    void writePage_withMoreRows_returnsCursorOfLastItem() {
+        List<PriceSnapshot> rows = List.of(snapshot(1, "100.00"), snapshot(2, "110.00"), snapshot(3, "120.00"));
+        givenRows(rows);
+
+        JsonNode page = writePage(new PriceHistoryQuery(ROUTE_ID, null, null, null, 2));
+
+        assertEquals(2, page.get("items").size());
+        assertEquals(110.00, page.get("items").get(1).get("price").asDouble());
+        assertEquals(PriceHistoryCursor.after(rows.get(1)), PriceHistoryCursor.decode(page.get("nextCursor").asString()));
+        verify(priceHistoryRepository).forEach(argThat(query -> query.limit() == 3), any());
+    }
+
+    @Test
+    void writePage_lastPage_returnsNullCursor() {
+        givenRows(List.of(snapshot(1, "100.00")));
+
+        JsonNode page = writePage(new PriceHistoryQuery(ROUTE_ID, null, null, null, 2));
+
+        assertEquals(1, page.get("items").size());
+        assertTrue(page.get("nextCursor").isNull());
+    }
+}
@@ -0,0 +1,406 @@
+package com.flight_price_monitor.application;
+
+import com.flight_price_monitor.common.exception.AmadeusApiException;
+import com.flight_price_monitor.common.exception.AmadeusUnavailableException;
+import com.flight_price_monitor.config.FetchProperties;
+import com.flight_price_monitor.domain.model.FetchTask;
+import com.flight_price_monitor.domain.model.PriceSnapshot;
+import com.flight_price_monitor.infrastructure.amadeus.AmadeusCircuitBreaker;
+import com.flight_price_monitor.infrastructure.amadeus.AmadeusClient;
+import com.flight_price_monitor.infrastructure.amadeus.FlightPrice;
+import com.flight_price_monitor.persistence.entity.RouteEntity;
+import com.flight_price_monitor.persistence.mapper.RouteMapper;
+import com.flight_price_monitor.persistence.repository.AnomalyEvaluationBacklogRepository;
+import com.flight_price_monitor.persistence.repository.PriceSnapshotBatchRepository;
+import com.flight_price_monitor.persistence.repository.RoutePriceStatsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PriceMonitoringServiceTest {
+
+    @Mock
+    FetchTaskQueueService fetchTaskQueueService;
+
+    @Mock
+    PriceSnapshotBatchRepository snapshotBatchRepository;
+
+    @Mock
+    AnomalyEvaluationBacklogRepository evaluationBacklogRepository;
+
+    @Mock
+    RoutePriceStatsRepository routePriceStatsRepository;
+
+    @Mock
+    AmadeusClient amadeusClient;
+
+    @Mock
+    AmadeusCircuitBreaker circuitBreaker;
+
+    @Mock
+    AnomalyEvaluationQueue anomalyEvaluationQueue;
+
+    @Mock
+    FetchCadenceService fetchCadenceService;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    Scheduler persistenceScheduler;
+
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        persistenceScheduler = Schedulers.newBoundedElastic(2, 1_000, "test-persist");
+        lenient().when(fetchTaskQueueService.complete(any()))
+                .thenAnswer(invocation -> Set.copyOf(invocation.<Set<UUID>>getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        persistenceScheduler.dispose();
+    }
+
+    // Helpers
+
+    private PriceMonitoringService buildService(int concurrency) {
+        return buildService(concurrency, 500);
+    }
+
+    private PriceMonitoringService buildService(int concurrency, int batchSize) {
+        return buildService(concurrency, batchSize, 1_000);
+    }
+
+    private PriceMonitoringService buildService(int concurrency, int batchSize, int chunkSize) {
+        return new PriceMonitoringService(fetchTaskQueueService, snapshotBatchRepository,
+                evaluationBacklogRepository, routePriceStatsRepository, amadeusClient, circuitBreaker,
+                anomalyEvaluationQueue, fetchCadenceService, persistenceScheduler,
+                new FetchProperties(concurrency, 2, batchSize, chunkSize),
+                new TransactionTemplate(transactionManager), eventPublisher, meterRegistry);
+    }
+
+    private List<FetchTask> givenClaimedTasks(List<RouteEntity> routes) {
+        List<FetchTask> tasks = toTasks(routes);
+        when(fetchTaskQueueService.claim(anyInt())).thenReturn(tasks);
+        return tasks;
+    }
+
+    private List<FetchTask> toTasks(List<RouteEntity> routes) {
+        RouteMapper routeMapper = new RouteMapper();
+        return IntStream.range(0, routes.size())
+                .mapToObj(i -> new FetchTask(i + 1, routeMapper.toDomain(routes.get(i)), 1))
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<FetchTask, String> failedTasks() {
+        ArgumentCaptor<Map<FetchTask, String>> failures = ArgumentCaptor.forClass(Map.class);
+        verify(fetchTaskQueueService).fail(failures.capture());
+        return failures.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private int insertedRows() {
+        ArgumentCaptor<List<PriceSnapshot>> batches = ArgumentCaptor.forClass(List.class);
+        verify(snapshotBatchRepository, atLeast(0)).insertAll(batches.capture());
+        return batches.getAllValues().stream().mapToInt(List::size).sum();
+    }
+
+    private RouteEntity buildRoute(String destination) {
+        RouteEntity route = new RouteEntity();
+        route.setId(UUID.randomUUID());
+        route.setOrigin("KRK");
+        route.setDestination(destination);
+        route.setDepartureDate(LocalDate.now().plusMonths(3));
+        route.setActive(true);
+        return route;
+    }
+
+    private List<RouteEntity> buildRoutes(int count) {
+        return IntStream.range(0, count).mapToObj(i -> buildRoute("D%02d".formatted(i))).toList();
+    }
+
+    @Test
+    void processNextTasks_allSucceed_savesEverySnapshot() {
+        List<RouteEntity> routes = buildRoutes(20);
+
+        givenClaimedTasks(routes);
+        when(amadeusClient.fetchLowestPrice(eq("KRK"), any(), any()))
+                .thenReturn(Mono.just(new FlightPrice(new BigDecimal("199.99"), "EUR")));
+
+        FetchRunSummary summary = buildService(4).processNextTasks();
+
+        assertEquals(20, summary.routes());
+        assertEquals(20, summary.successful());
+        assertEquals(0, summary.failed());
+        assertNotNull(summary.elapsed());
+        assertEquals(20, insertedRows());
+        assertEquals(20.0, meterRegistry.get("fetch.run.routes").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("fetch.run").timer().count());
+        assertEquals(1, meterRegistry.get("prices.persist").timer().count());
+        verify(fetchCadenceService).scheduleNextFetches(
+                eq(routes.stream().map(RouteEntity::getId).collect(Collectors.toSet())), any());
+        verify(routePriceStatsRepository).addAll(argThat(snapshots -> snapshots.size() == 20));
+        verify(eventPublisher).publishEvent(new PriceSnapshotsStoredEvent(
+                routes.stream().map(RouteEntity::getId).collect(Collectors.toSet())));
+    }
+
+    @Test
+    void processNextTasks_insertsInBatchesOfConfiguredSize() {
+        List<RouteEntity> routes = buildRoutes(25);
+
+        givenClaimedTasks(routes);
+        when(amadeusClient.fetchLowestPrice(eq("KRK"), any(), any()))
+                .thenReturn(Mono.just(new FlightPrice(new BigDecimal("199.99"), "EUR")));
+
+        FetchRunSummary summary = buildService(4, 10).processNextTasks();
+
+        assertEquals(25, summary.successful());
+        verify(anomalyEvaluationQueue, times(3)).submit(any());
+        verify(snapshotBatchRepository, times(3)).insertAll(any());
+        assertEquals(25, insertedRows());
+    }
+
+    @Test
+    void processNextTasks_commitsEachBatchInItsOwnTransaction() {
+        List<RouteEntity> routes = buildRoutes(25);
+
+        givenClaimedTasks(routes);
+        when(amadeusClient.fetchLowestPrice(eq("KRK"), any(), any()))
+                .thenReturn(Mono.just(new FlightPrice(new BigDecimal("199.99"), "EUR")));
+
+        buildService(4, 10).processNextTasks();
+
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void processNextTasks_queuesSnapshotsForAnomalyEvaluationAfterCommit() {
+        List<RouteEntity> routes = buildRoutes(5);
+
+        givenClaimedTasks(routes);
+        when(amadeusClient.fetchLowestPrice(eq("KRK"), any(), any()))
+                .thenReturn(Mono.just(new FlightPrice(new BigDecimal("199.99"), "EUR")));
+
+        buildService(4).processNextTasks();
+
+        InOrder inOrder = inOrder(snapshotBatchRepository, evaluationBacklogRepository, transactionManager,
+                anomalyEvaluationQueue);
+        inOrder.verify(snapshotBatchRepository).insertAll(argThat(snapshots ->
+                snapshots.size() == 5 && snapshots.stream().noneMatch(PriceSnapshot::isAnomaly)));
+        inOrder.verify(evaluationBacklogRepository).addAll(argThat(snapshots -> snapshots.size() == 5));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(anomalyEvaluationQueue).submit(argThat(snapshots -> snapshots.size() == 5));
+    }
+
+    @Test
+    void processNextTasks_claimsOneChunkOfConfiguredSize() {
+        List<RouteEntity> routes = buildRoutes(10);
+
+        when(fetchTaskQueueService.claim(10)).thenReturn(toTasks(routes));
+        when(amadeusClient.fetchLowestPrice(eq("KRK"), any(), any()))
+                .thenReturn(Mono.just(new FlightPrice(new BigDecimal("199.99"), "EUR")));
+
+        FetchRunSummary summary = buildService(4, 500, 10).processNextTasks();
+
+        assertEquals(10, summary.routes());
+        assertEquals(10, summary.successful());
+        verify(fetchTaskQueueService, times(1)).claim(anyInt());
+    }
+
+    @Test
+    void processNextTasks_completesTasksOfStoredRoutes() {
+        List<RouteEntity> routes = buildRoutes(5);
+
+        givenClaimedTasks(routes);
+        when(amadeusClient.fetchLowestPrice(eq("KRK"), any(), any()))
+                .thenReturn(Mono.just(new FlightPrice(new BigDecimal("199.99"), "EUR")));
+
+        buildService(4).processNextTasks();
+
+        verify(fetchTaskQueueService).complete(routes.stream().map(RouteEntity::getId).collect(Collectors.toSet()));
+        assertTrue(failedTasks().isEmpty());
+    }
+
+    @Test
+    void processNextTasks_batchInsertFails_countsWholeBatchAsFailed() {
+        List<RouteEntity> routes = buildRoutes(5);
+
+        List<FetchTask> tasks = givenClaimedTasks(routes);
+        when(amadeusClient.fetchLowestPrice(eq("KRK"), any(), any()))
+                .thenReturn(Mono.just(new FlightPrice(new BigDecimal("199.99"), "EUR")));
+        doThrow(new IllegalStateException("connection lost")).when(snapshotBatchRepository).insertAll(any());
+
+        FetchRunSummary summary = buildService(4).processNextTasks();
+
+        assertEquals(0, summary.successful());
+        assertEquals(5, summary.failed());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verifyNoInteractions(routePriceStatsRepository, fetchCadenceService, eventPublisher, anomalyEvaluationQueue);
+        assertEquals(Set.copyOf(tasks), failedTasks().keySet());
+    }
+
+    @Test
+    void processNextTasks_taskNoLongerHeld_storesOnlyRoutesThisNodeStillHolds() {
+        List<RouteEntity> routes = buildRoutes(3);
+        UUID heldRoute = routes.get(0).getId();
+
+        givenClaimedTasks(routes);
+        when(amadeusClient.fetchLowestPrice(eq("KRK"), any(), any()))
+                .thenReturn(Mono.just(new FlightPrice(new BigDecimal("199.99"), "EUR")));
+        when(fetchTaskQueueService.complete(any())).thenReturn(Set.of(heldRoute));
+
+        FetchRunSummary summary = buildService(4).processNextTasks();
+
+        assertEquals(1, summary.successful());
+        assertEquals(0, summary.failed());
+        InOrder inOrder = inOrder(fetchTaskQueueService, snapshotBatchRepository);
+        inOrder.verify(fetchTaskQueueService).complete(any());
+        inOrder.verify(snapshotBatchRepository).insertAll(argThat(snapshots ->
+                snapshots.size() == 1 && snapshots.getFirst().routeId().equals(heldRoute)));
+        verify(evaluationBacklogRepository).addAll(argThat(snapshots -> snapshots.size() == 1));
+        verify(routePriceStatsRepository).addAll(argThat(snapshots -> snapshots.size() == 1));
+        verify(fetchCadenceService).scheduleNextFetches(eq(Set.of(heldRoute)), any());
+        verify(eventPublisher).publishEvent(new PriceSnapshotsStoredEvent(Set.of(heldRoute)));
+        verify(anomalyEvaluationQueue).submit(argThat(snapshots -> snapshots.size() == 1));
+    }
+
+    @Test
+    void processNextTasks_someFail_countsFailuresAndRetriesThem() {
+        List<RouteEntity> routes = buildRoutes(6);
+
+        List<FetchTask> tasks = givenClaimedTasks(routes);
+        when(amadeusClient.fetchLowestPrice(eq("KRK"), any(), any())).thenAnswer(inv -> {
+            String destination = inv.getArgument(1);
+            if (destination.endsWith("1") || destination.endsWith("4")) {
+                return Mono.error(new AmadeusApiException("No flights found for given criteria", 404));
+            }
+            return Mono.just(new FlightPrice(new BigDecimal("120.00"), "EUR"));
+        });
+
+        FetchRunSummary summary = buildService(3).processNextTasks();
+
+        assertEquals(4, summary.successful());
+        assertEquals(2, summary.failed());
+        assertEquals(4, insertedRows());
+        assertEquals(Map.of(tasks.get(1), "No flights found for given criteria",
+                tasks.get(4), "No flights found for given criteria"), failedTasks());
+    }
+
+    @Test
+    void processNextTasks_circuitOpens_countsRejectedRoutesAndTransitions() {
+        List<RouteEntity> routes = buildRoutes(5);
+
+        givenClaimedTasks(routes);
+        when(circuitBreaker.transitionCount()).thenReturn(3L, 4L);
+        when(amadeusClient.fetchLowestPrice(eq("KRK"), any(), any())).thenAnswer(inv -> {
+            String destination = inv.getArgument(1);
+            if (destination.endsWith("0")) {
+                return Mono.error(new AmadeusApiException("Fetching offer error", 500));
+            }
+            return Mono.error(new AmadeusUnavailableException("Amadeus circuit breaker is open"));
+        });
+
+        FetchRunSummary summary = buildService(1).processNextTasks();
+
+        assertEquals(0, summary.successful());
+        assertEquals(5, summary.failed());
+        assertEquals(4, summary.rejected());
+        assertEquals(1, summary.circuitTransitions());
+        assertEquals(4.0, meterRegistry.get("fetch.routes").tag("outcome", "rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("fetch.routes").tag("outcome", "failed").counter().count());
+        verifyNoInteractions(snapshotBatchRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void processNextTasks_rejectedLocally_postponesTasksWithoutUsingAnAttempt() {
+        List<RouteEntity> routes = buildRoutes(3);
+
+        List<FetchTask> tasks = givenClaimedTasks(routes);
+        when(amadeusClient.fetchLowestPrice(eq("KRK"), any(), any())).thenAnswer(inv -> {
+            String destination = inv.getArgument(1);
+            if (destination.endsWith("0")) {
+                return Mono.error(new AmadeusApiException("Fetching offer error", 500));
+            }
+            return Mono.error(new AmadeusUnavailableException("Too many concurrent Amadeus calls"));
+        });
+
+        buildService(1).processNextTasks();
+
+        ArgumentCaptor<Map<FetchTask, String>> rejections = ArgumentCaptor.forClass(Map.class);
+        verify(fetchTaskQueueService).postpone(rejections.capture());
+        assertEquals(Set.of(tasks.get(1), tasks.get(2)), rejections.getValue().keySet());
+        assertEquals(Set.of(tasks.get(0)), failedTasks().keySet());
+    }
+
+    @Test
+    void processNextTasks_neverExceedsConfiguredConcurrency() {
+        List<RouteEntity> routes = buildRoutes(30);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        givenClaimedTasks(routes);
+        when(amadeusClient.fetchLowestPrice(eq("KRK"), any(), any())).thenAnswer(inv -> Mono.defer(() -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return Mono.delay(Duration.ofMillis(20))
+                    .map(tick -> new FlightPrice(new BigDecimal("150.00"), "EUR"))
+                    .doFinally(signal -> inFlight.decrementAndGet());
+        }));
+
+        FetchRunSummary summary = buildService(5).processNextTasks();
+
+        assertEquals(30, summary.successful());
+        assertTrue(maxInFlight.get() <= 5, "at most 5 fetches may run at once, saw " + maxInFlight.get());
+        assertTrue(maxInFlight.get() > 1, "fetches should overlap when concurrency allows it");
+    }
+
+    @Test
+    void processNextTasks_emptyQueue_returnsEmptySummary() {
+        givenClaimedTasks(List.of());
+
+        FetchRunSummary summary = buildService(4).processNextTasks();
+
+        assertEquals(0, summary.routes());
+        verifyNoInteractions(amadeusClient);
+        verify(fetchTaskQueueService, never()).fail(any());
+    }
+}
@@ -0,0 +1,121 @@
+package com.flight_price_monitor.application;
+
+import com.flight_price_monitor.config.RollupProperties;
+import com.flight_price_monitor.domain.model.DailyPriceRollup;
+import com.flight_price_monitor.domain.model.PriceSnapshot;
+import com.flight_price_monitor.persistence.repository.PriceSnapshotRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PriceRollupServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-18T12:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDate CUTOFF = LocalDate.of(2026, 9, 18);
+
+    @Mock
+    PriceSnapshotRollupRepository rollupRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    PriceRollupService rollupService;
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new PriceRollupService(rollupRepository, new RollupProperties(Period.ofDays(30)),
+                new TransactionTemplate(transactionManager), CLOCK);
+    }
+
+    // Helpers
+
+    private static OffsetDateTime startOf(LocalDate day) {
+        return day.atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+
+    private static PriceSnapshot snapshot(UUID routeId, String price, OffsetDateTime retrievedAt) {
+        return new PriceSnapshot(UUID.randomUUID(), routeId, new BigDecimal(price), "EUR", retrievedAt, false);
+    }
+
+    @Test
+    void compactExpiredSnapshots_nothingOlderThanCutoff_doesNothing() {
+        when(rollupRepository.findOldestRawBefore(startOf(CUTOFF))).thenReturn(Optional.empty());
+
+        assertEquals(0, rollupService.compactExpiredSnapshots());
+
+        verify(rollupRepository, never()).deleteRawBetween(any(), any());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void compactExpiredSnapshots_compactsEachDayInItsOwnTransaction() {
+        UUID routeA = UUID.randomUUID();
+        UUID routeB = UUID.randomUUID();
+        LocalDate firstDay = CUTOFF.minusDays(2);
+        LocalDate secondDay = CUTOFF.minusDays(1);
+        when(rollupRepository.findOldestRawBefore(startOf(CUTOFF)))
+                .thenReturn(Optional.of(startOf(firstDay).plusHours(5)));
+        when(rollupRepository.deleteRawBetween(startOf(firstDay), startOf(secondDay))).thenReturn(List.of(
+                snapshot(routeA, "100.00", startOf(firstDay).plusHours(5)),
+                snapshot(routeA, "120.00", startOf(firstDay).plusHours(11)),
+                snapshot(routeB, "300.00", startOf(firstDay).plusHours(5))));
+        when(rollupRepository.deleteRawBetween(startOf(secondDay), startOf(CUTOFF))).thenReturn(List.of());
+        when(rollupRepository.findByDayForUpdate(firstDay)).thenReturn(Map.of());
+
+        assertEquals(3, rollupService.compactExpiredSnapshots());
+
+        ArgumentCaptor<Collection<DailyPriceRollup>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(rollupRepository).upsertAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        DailyPriceRollup rollupA = captor.getValue().stream().filter(r -> r.routeId().equals(routeA)).findFirst().orElseThrow();
+        assertEquals(2, rollupA.aggregate().count());
+        assertEquals(new BigDecimal("120.00"), rollupA.closePrice());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void compactExpiredSnapshots_mergesIntoExistingRollup() {
+        UUID routeId = UUID.randomUUID();
+        LocalDate day = CUTOFF.minusDays(1);
+        DailyPriceRollup existing = DailyPriceRollup.of(day,
+                List.of(snapshot(routeId, "200.00", startOf(day).plusHours(1))));
+        when(rollupRepository.findOldestRawBefore(startOf(CUTOFF))).thenReturn(Optional.of(startOf(day).plusHours(9)));
+        when(rollupRepository.deleteRawBetween(startOf(day), startOf(CUTOFF)))
+                .thenReturn(List.of(snapshot(routeId, "100.00", startOf(day).plusHours(9))));
+        when(rollupRepository.findByDayForUpdate(day)).thenReturn(Map.of(routeId, existing));
+
+        rollupService.compactExpiredSnapshots();
+
+        ArgumentCaptor<Collection<DailyPriceRollup>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(rollupRepository).upsertAll(captor.capture());
+        DailyPriceRollup merged = captor.getValue().iterator().next();
+        assertEquals(2, merged.aggregate().count());
+        assertEquals(new BigDecimal("200.00"), merged.openPrice());
+        assertEquals(new BigDecimal("100.00"), merged.closePrice());
+    }
+}
@@ -0,0 +1,139 @@
+package com.flight_price_monitor.application;
+
+import com.flight_price_monitor.config.PartitionProperties;
+import com.flight_price_monitor.domain.model.TimePartition;
+import com.flight_price_monitor.persistence.repository.PriceSnapshotPartitionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PriceSnapshotPartitionServiceTest {
+
+    private static final Duration LOCK_TIMEOUT = Duration.ofSeconds(5);
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-18T12:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    PriceSnapshotPartitionRepository partitionRepository;
+
+    // Helpers
+
+    private PriceSnapshotPartitionService service(PartitionProperties.ExpiredAction expiredAction) {
+        PartitionProperties properties = new PartitionProperties(Period.ofMonths(1), 3, Period.ofYears(1), expiredAction,
+                LOCK_TIMEOUT, 2);
+        return new PriceSnapshotPartitionService(partitionRepository, properties, CLOCK);
+    }
+
+    private static TimePartition monthly(int year, int month) {
+        LocalDate from = LocalDate.of(year, month, 1);
+        return new TimePartition("price_snapshot_p" + from.toString().replace("-", ""),
+                from.atStartOfDay().atOffset(ZoneOffset.UTC),
+                from.plusMonths(1).atStartOfDay().atOffset(ZoneOffset.UTC));
+    }
+
+    @Test
+    void maintainPartitions_createsPartitionsUpToPremakeHorizon() {
+        when(partitionRepository.findAll()).thenReturn(List.of(monthly(2026, 10), monthly(2026, 11)));
+
+        service(PartitionProperties.ExpiredAction.DETACH).maintainPartitions();
+
+        ArgumentCaptor<TimePartition> captor = ArgumentCaptor.forClass(TimePartition.class);
+        verify(partitionRepository, times(2)).create(captor.capture(), eq(LOCK_TIMEOUT));
+        assertEquals(List.of(monthly(2026, 12), monthly(2027, 1)), captor.getAllValues());
+        verify(partitionRepository, never()).detach(anyString(), any());
+    }
+
+    @Test
+    void maintainPartitions_withoutPartitions_startsAtCurrentMonth() {
+        when(partitionRepository.findAll()).thenReturn(List.of());
+
+        service(PartitionProperties.ExpiredAction.DETACH).maintainPartitions();
+
+        ArgumentCaptor<TimePartition> captor = ArgumentCaptor.forClass(TimePartition.class);
+        verify(partitionRepository, times(4)).create(captor.capture(), eq(LOCK_TIMEOUT));
+        assertEquals(OffsetDateTime.parse("2026-10-01T00:00Z"), captor.getAllValues().getFirst().from());
+        assertEquals(OffsetDateTime.parse("2027-02-01T00:00Z"), captor.getAllValues().getLast().to());
+    }
+
+    @Test
+    void maintainPartitions_detachesPartitionsOlderThanRetention() {
+        when(partitionRepository.findAll()).thenReturn(List.of(
+                monthly(2025, 8), monthly(2025, 9), monthly(2025, 10), monthly(2026, 10),
+                monthly(2026, 11), monthly(2026, 12), monthly(2027, 1)));
+
+        service(PartitionProperties.ExpiredAction.DETACH).maintainPartitions();
+
+        verify(partitionRepository).detach(monthly(2025, 8).name(), LOCK_TIMEOUT);
+        verify(partitionRepository).detach(monthly(2025, 9).name(), LOCK_TIMEOUT);
+        verify(partitionRepository, never()).detach(monthly(2025, 10).name(), LOCK_TIMEOUT);
+        verify(partitionRepository, never()).drop(anyString());
+        verify(partitionRepository, never()).create(any(), any());
+    }
+
+    @Test
+    void maintainPartitions_withDropAction_detachesBeforeDropping() {
+        when(partitionRepository.findAll()).thenReturn(List.of(monthly(2025, 1), monthly(2026, 10),
+                monthly(2026, 11), monthly(2026, 12), monthly(2027, 1)));
+
+        service(PartitionProperties.ExpiredAction.DROP).maintainPartitions();
+
+        InOrder inOrder = inOrder(partitionRepository);
+        inOrder.verify(partitionRepository).detach(monthly(2025, 1).name(), LOCK_TIMEOUT);
+        inOrder.verify(partitionRepository).drop(monthly(2025, 1).name());
+    }
+
+    @Test
+    void maintainPartitions_withKeepAction_neverExpiresPartitions() {
+        when(partitionRepository.findAll()).thenReturn(List.of(monthly(2020, 1), monthly(2026, 10),
+                monthly(2026, 11), monthly(2026, 12), monthly(2027, 1)));
+
+        service(PartitionProperties.ExpiredAction.KEEP).maintainPartitions();
+
+        verify(partitionRepository, never()).detach(anyString(), any());
+        verify(partitionRepository, never()).drop(anyString());
+    }
+
+    @Test
+    void maintainPartitions_lockTimeoutOnCreate_retriesThenStopsWithoutSkippingARange() {
+        when(partitionRepository.findAll()).thenReturn(List.of(monthly(2026, 10), monthly(2026, 11)));
+        doThrow(new CannotAcquireLockException("lock timeout"))
+                .when(partitionRepository).create(monthly(2026, 12), LOCK_TIMEOUT);
+
+        service(PartitionProperties.ExpiredAction.DETACH).maintainPartitions();
+
+        verify(partitionRepository, times(2)).create(monthly(2026, 12), LOCK_TIMEOUT);
+        verify(partitionRepository, never()).create(monthly(2027, 1), LOCK_TIMEOUT);
+    }
+
+    @Test
+    void maintainPartitions_lockTimeoutOnDetach_succeedsOnRetry() {
+        when(partitionRepository.findAll()).thenReturn(List.of(monthly(2025, 8), monthly(2026, 10),
+                monthly(2026, 11), monthly(2026, 12), monthly(2027, 1)));
+        doThrow(new CannotAcquireLockException("lock timeout")).doNothing()
+                .when(partitionRepository).detach(monthly(2025, 8).name(), LOCK_TIMEOUT);
+
+        service(PartitionProperties.ExpiredAction.DROP).maintainPartitions();
+
+        verify(partitionRepository, times(2)).detach(monthly(2025, 8).name(), LOCK_TIMEOUT);
+        verify(partitionRepository).drop(monthly(2025, 8).name());
+    }
+}
@@ -6,12 +6,14 @@ import com.flight_price_monitor.common.exception.DuplicateRouteException;
 import com.flight_price_monitor.common.exception.RouteNotFoundException;
 import com.flight_price_monitor.persistence.entity.RouteEntity;
 import com.flight_price_monitor.persistence.mapper.RouteMapper;
+import com.flight_price_monitor.persistence.repository.FetchTaskRepository;
 import com.flight_price_monitor.persistence.repository.RouteRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
@@ -31,6 +33,10 @@ class RouteServiceTest {
     RouteRepository routeRepository;
     @Mock
     RouteMapper routeMapper;
+    @Mock
+    FetchTaskRepository fetchTaskRepository;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
 
     // Helpers
     @InjectMocks
@@ -103,6 +109,7 @@ class RouteServiceTest {
         assertNotNull(result);
         verify(routeRepository, times(1)).save(existing);
         verify(routeMapper, never()).toEntity(any());
+        verify(eventPublisher).publishEvent(new RouteStatusChangedEvent(id, true));
     }
 
     @Test
@@ -139,6 +146,31 @@ class RouteServiceTest {
         routeService.deleteRoute(id);
 
         verify(routeRepository, times(1)).delete(entity);
+        verify(eventPublisher).publishEvent(new RouteStatusChangedEvent(id, false));
+    }
+
+    @Test
+    void deactivateRoute_existingId_deactivatesAndPublishesEvent() {
+        UUID id = UUID.randomUUID();
+        RouteEntity entity = buildRouteEntity(id, "KR", "BAH", true);
+
+        when(routeRepository.findById(id)).thenReturn(Optional.of(entity));
+
+        routeService.deactivateRoute(id);
+
+        assertFalse(entity.getActive());
+        verify(routeRepository, times(1)).save(entity);
+        verify(eventPublisher).publishEvent(new RouteStatusChangedEvent(id, false));
+    }
+
+    @Test
+    void deactivateRoute_removesQueuedFetchTaskSoRouteIsNotClaimed() {
+        UUID id = UUID.randomUUID();
+        when(routeRepository.findById(id)).thenReturn(Optional.of(buildRouteEntity(id, "KR", "BAH", true)));
+
+        routeService.deactivateRoute(id);
+
+        verify(fetchTaskRepository).deleteByRouteId(id);
     }
 
     @Test
@@ -1,6 +1,7 @@
 package com.flight_price_monitor.domain.logic;
 
 import com.flight_price_monitor.domain.model.AnomalyDetector;
+import com.flight_price_monitor.domain.model.PriceAggregate;
 import com.flight_price_monitor.domain.model.PriceStatistics;
 import org.junit.jupiter.api.Test;
 
@@ -87,6 +88,68 @@ public class AnomalyDetectorTest {
                 AnomalyDetector.calculateStandardDeviation(List.of(), BigDecimal.ZERO));
     }
 
+    // aggregate-based mean and standard deviation
+
+    private PriceAggregate aggregateOf(List<BigDecimal> prices) {
+        PriceAggregate aggregate = PriceAggregate.EMPTY;
+        for (BigDecimal price : prices) {
+            aggregate = aggregate.add(price);
+        }
+        return aggregate;
+    }
+
+    @Test
+    void calculateStandardDeviation_fromAggregate_matchesListVariant() {
+        List<BigDecimal> prices = List.of(new BigDecimal("100.01"), new BigDecimal("199.99"),
+                new BigDecimal("250.37"), new BigDecimal("87.10"), new BigDecimal("310.55"));
+        PriceAggregate aggregate = aggregateOf(prices);
+
+        BigDecimal mean = AnomalyDetector.calculateMean(aggregate);
+
+        assertEquals(AnomalyDetector.calculateMean(prices), mean);
+        assertEquals(AnomalyDetector.calculateStandardDeviation(prices, mean),
+                AnomalyDetector.calculateStandardDeviation(aggregate, mean));
+    }
+
+    @Test
+    void calculateStandardDeviation_fromSingleSampleAggregate_returnsZero() {
+        PriceAggregate aggregate = aggregateOf(List.of(new BigDecimal("500.00")));
+
+        assertEquals(BigDecimal.ZERO, AnomalyDetector.calculateStandardDeviation(aggregate, new BigDecimal("500.00")));
+    }
+
+    @Test
+    void buildStatistics_fromAggregate_matchesListVariant() {
+        List<BigDecimal> prices = List.of(new BigDecimal("120.00"), new BigDecimal("80.50"),
+                new BigDecimal("99.99"), new BigDecimal("150.25"));
+        BigDecimal currentPrice = new BigDecimal("70.00");
+
+        PriceStatistics fromList = AnomalyDetector.buildStatistics(prices, currentPrice);
+        PriceStatistics fromAggregate = AnomalyDetector.buildStatistics(aggregateOf(prices),
+                AnomalyDetector.calculateMedian(prices), currentPrice);
+
+        assertEquals(fromList, fromAggregate);
+    }
+
+    @Test
+    void priceAggregate_merge_equalsAddingEveryPrice() {
+        List<BigDecimal> first = List.of(new BigDecimal("100.00"), new BigDecimal("250.00"));
+        List<BigDecimal> second = List.of(new BigDecimal("75.00"), new BigDecimal("180.00"), new BigDecimal("90.00"));
+
+        PriceAggregate merged = aggregateOf(first).merge(aggregateOf(second));
+
+        assertEquals(aggregateOf(List.of(new BigDecimal("100.00"), new BigDecimal("250.00"), new BigDecimal("75.00"),
+                new BigDecimal("180.00"), new BigDecimal("90.00"))), merged);
+        assertEquals(new BigDecimal("75.00"), merged.min());
+        assertEquals(new BigDecimal("250.00"), merged.max());
+        assertEquals(merged, merged.merge(PriceAggregate.EMPTY));
+    }
+
+    @Test
+    void calculateMean_fromEmptyAggregate_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> AnomalyDetector.calculateMean(PriceAggregate.EMPTY));
+    }
+
     // calculateZScore
 
     @Test
@@ -0,0 +1,72 @@
+package com.flight_price_monitor.domain.logic;
+
+import com.flight_price_monitor.domain.model.AnomalyDetector;
+import com.flight_price_monitor.domain.model.DailyPriceRollup;
+import com.flight_price_monitor.domain.model.PriceAggregate;
+import com.flight_price_monitor.domain.model.PriceSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DailyPriceRollupTest {
+
+    private static final UUID ROUTE_ID = UUID.randomUUID();
+    private static final LocalDate DAY = LocalDate.of(2026, 9, 1);
+    private static final OffsetDateTime MIDNIGHT = DAY.atStartOfDay().atOffset(ZoneOffset.UTC);
+
+    private static PriceSnapshot snapshot(String price, int hour) {
+        return new PriceSnapshot(UUID.randomUUID(), ROUTE_ID, new BigDecimal(price), "EUR", MIDNIGHT.plusHours(hour), false);
+    }
+
+    @Test
+    void of_tracksOpenCloseAndAggregate() {
+        DailyPriceRollup rollup = DailyPriceRollup.of(DAY, List.of(
+                snapshot("180.00", 12), snapshot("200.00", 0), snapshot("220.00", 18), snapshot("160.00", 6)));
+
+        assertEquals(new BigDecimal("200.00"), rollup.openPrice());
+        assertEquals(new BigDecimal("220.00"), rollup.closePrice());
+        assertEquals(4, rollup.aggregate().count());
+        assertEquals(new BigDecimal("160.00"), rollup.aggregate().min());
+        assertEquals(new BigDecimal("220.00"), rollup.aggregate().max());
+        assertEquals(4, rollup.sketch().count());
+    }
+
+    @Test
+    void merge_keepsSameMeanAndStandardDeviationAsRawSnapshots() {
+        List<PriceSnapshot> morning = List.of(snapshot("120.50", 1), snapshot("99.99", 3), snapshot("150.25", 5));
+        List<PriceSnapshot> evening = List.of(snapshot("80.00", 19), snapshot("133.33", 21));
+
+        DailyPriceRollup merged = DailyPriceRollup.of(DAY, evening).merge(DailyPriceRollup.of(DAY, morning));
+
+        PriceAggregate raw = PriceAggregate.EMPTY;
+        for (PriceSnapshot snapshot : morning) raw = raw.add(snapshot.price());
+        for (PriceSnapshot snapshot : evening) raw = raw.add(snapshot.price());
+        assertEquals(raw, merged.aggregate());
+        BigDecimal mean = AnomalyDetector.calculateMean(raw);
+        assertEquals(AnomalyDetector.calculateStandardDeviation(raw, mean),
+                AnomalyDetector.calculateStandardDeviation(merged.aggregate(), mean));
+        assertEquals(new BigDecimal("120.50"), merged.openPrice());
+        assertEquals(new BigDecimal("133.33"), merged.closePrice());
+        assertEquals(5, merged.sketch().count());
+    }
+
+    @Test
+    void of_withSnapshotsOfDifferentRoutes_throwsException() {
+        PriceSnapshot other = new PriceSnapshot(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("100.00"), "EUR",
+                MIDNIGHT, false);
+
+        assertThrows(IllegalArgumentException.class, () -> DailyPriceRollup.of(DAY, List.of(snapshot("100.00", 1), other)));
+    }
+
+    @Test
+    void of_withEmptyList_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> DailyPriceRollup.of(DAY, List.of()));
+    }
+}
@@ -0,0 +1,70 @@
+package com.flight_price_monitor.domain.logic;
+
+import com.flight_price_monitor.domain.model.FetchCadenceInput;
+import com.flight_price_monitor.domain.model.FetchCadencePlanner;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FetchCadencePlannerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+
+    private final FetchCadencePlanner planner = new FetchCadencePlanner(
+            Duration.ofHours(1), Duration.ofHours(24), Duration.ofHours(2), 5, 90, 0.05);
+
+    private FetchCadenceInput input(long sampleCount, int daysToDeparture, String mean, String standardDeviation) {
+        return new FetchCadenceInput(UUID.randomUUID(), TODAY.plusDays(daysToDeparture), sampleCount,
+                mean == null ? null : new BigDecimal(mean),
+                standardDeviation == null ? null : new BigDecimal(standardDeviation));
+    }
+
+    @Test
+    void nextInterval_belowMinSamples_usesWarmupInterval() {
+        assertEquals(Duration.ofHours(2), planner.nextInterval(input(4, 180, "200.00", "0.00"), TODAY));
+    }
+
+    @Test
+    void nextInterval_stableRouteBeyondHorizon_usesMaxInterval() {
+        assertEquals(Duration.ofHours(24), planner.nextInterval(input(20, 180, "200.00", "0.00"), TODAY));
+    }
+
+    @Test
+    void nextInterval_shrinksLinearlyInsideHorizon() {
+        assertEquals(Duration.ofHours(12), planner.nextInterval(input(20, 45, "200.00", "0.00"), TODAY));
+    }
+
+    @Test
+    void nextInterval_volatileRoute_isShorter() {
+        Duration stable = planner.nextInterval(input(20, 180, "200.00", "0.00"), TODAY);
+        Duration volatileRoute = planner.nextInterval(input(20, 180, "200.00", "10.00"), TODAY);
+
+        assertEquals(stable.dividedBy(2), volatileRoute);
+    }
+
+    @Test
+    void nextInterval_volatileRouteCloseToDeparture_isClampedToMinInterval() {
+        assertEquals(Duration.ofHours(1), planner.nextInterval(input(20, 3, "200.00", "40.00"), TODAY));
+    }
+
+    @Test
+    void nextInterval_withoutRecentVariance_treatsRouteAsStable() {
+        assertEquals(Duration.ofHours(24), planner.nextInterval(input(20, 180, "200.00", null), TODAY));
+    }
+
+    @Test
+    void nextInterval_afterDeparture_usesMaxInterval() {
+        assertEquals(Duration.ofHours(24), planner.nextInterval(input(20, -1, "200.00", "40.00"), TODAY));
+    }
+
+    @Test
+    void constructor_minAboveMax_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new FetchCadencePlanner(
+                Duration.ofHours(25), Duration.ofHours(24), Duration.ofHours(2), 5, 90, 0.05));
+    }
+}
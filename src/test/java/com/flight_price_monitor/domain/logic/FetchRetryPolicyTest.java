@@ -0,0 +1,38 @@
+package com.flight_price_monitor.domain.logic;
+
+import com.flight_price_monitor.domain.model.FetchRetryPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FetchRetryPolicyTest {
+
+    private final FetchRetryPolicy policy = new FetchRetryPolicy(5, Duration.ofSeconds(30), Duration.ofMinutes(10));
+
+    @Test
+    void backoff_doublesWithEachAttempt() {
+        assertEquals(Duration.ofSeconds(30), policy.backoff(1));
+        assertEquals(Duration.ofSeconds(60), policy.backoff(2));
+        assertEquals(Duration.ofSeconds(240), policy.backoff(4));
+    }
+
+    @Test
+    void backoff_isCappedAtMaxBackoff() {
+        assertEquals(Duration.ofMinutes(10), policy.backoff(6));
+        assertEquals(Duration.ofMinutes(10), policy.backoff(1_000));
+    }
+
+    @Test
+    void canRetry_untilMaxAttemptsAreUsed() {
+        assertTrue(policy.canRetry(4));
+        assertFalse(policy.canRetry(5));
+    }
+
+    @Test
+    void constructor_maxBackoffBelowInitial_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new FetchRetryPolicy(3, Duration.ofMinutes(1), Duration.ofSeconds(30)));
+    }
+}
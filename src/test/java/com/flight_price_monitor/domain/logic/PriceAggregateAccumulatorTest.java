@@ -0,0 +1,63 @@
+package com.flight_price_monitor.domain.logic;
+
+import com.flight_price_monitor.domain.model.PriceAggregate;
+import com.flight_price_monitor.domain.model.PriceAggregateAccumulator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PriceAggregateAccumulatorTest {
+
+    private static PriceAggregate fold(List<BigDecimal> prices) {
+        PriceAggregate aggregate = PriceAggregate.EMPTY;
+        for (BigDecimal price : prices) {
+            aggregate = aggregate.add(price);
+        }
+        return aggregate;
+    }
+
+    private static PriceAggregate accumulate(List<BigDecimal> prices) {
+        PriceAggregateAccumulator accumulator = new PriceAggregateAccumulator();
+        prices.forEach(accumulator::add);
+        return accumulator.toAggregate();
+    }
+
+    @Test
+    void toAggregate_centPrices_equalsBigDecimalFold() {
+        Random random = new Random(42);
+        List<BigDecimal> prices = IntStream.range(0, 1_000)
+                .mapToObj(i -> BigDecimal.valueOf(5_000 + random.nextInt(95_000), 2))
+                .toList();
+
+        assertEquals(fold(prices), accumulate(prices));
+    }
+
+    @Test
+    void toAggregate_noPrices_returnsEmpty() {
+        assertEquals(PriceAggregate.EMPTY, new PriceAggregateAccumulator().toAggregate());
+    }
+
+    @Test
+    void toAggregate_priceNotAtCentScale_fallsBackToBigDecimalFold() {
+        List<BigDecimal> prices = List.of(new BigDecimal("120.00"), new BigDecimal("99.999"),
+                new BigDecimal("150"), new BigDecimal("80.50"));
+
+        assertEquals(fold(prices), accumulate(prices));
+    }
+
+    @Test
+    void toAggregate_sumOfSquaresOverflowingLong_fallsBackToBigDecimalFold() {
+        List<BigDecimal> prices = List.of(new BigDecimal("99999999.99"), new BigDecimal("99999999.99"),
+                new BigDecimal("12.34"));
+
+        PriceAggregate aggregate = accumulate(prices);
+
+        assertEquals(fold(prices), aggregate);
+        assertEquals(new BigDecimal("12.34"), aggregate.min());
+    }
+}
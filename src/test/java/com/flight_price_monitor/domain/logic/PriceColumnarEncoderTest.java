@@ -0,0 +1,155 @@
+package com.flight_price_monitor.domain.logic;
+
+import com.flight_price_monitor.domain.model.PriceColumnarEncoder;
+import com.flight_price_monitor.domain.model.PriceSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PriceColumnarEncoderTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.parse("2026-01-01T00:00:00.123456Z");
+
+    // Reference decoder for the documented format.
+    private static List<PriceSnapshot> decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte[] magic = new byte[4];
+        buffer.get(magic);
+        assertArrayEquals(PriceColumnarEncoder.MAGIC, magic);
+
+        List<UUID> routeDictionary = new ArrayList<>();
+        List<String> currencyDictionary = new ArrayList<>();
+        List<PriceSnapshot> rows = new ArrayList<>();
+        for (int size = (int) readVarLong(buffer); size > 0; size = (int) readVarLong(buffer)) {
+            for (long i = readVarLong(buffer); i > 0; i--) {
+                routeDictionary.add(new UUID(buffer.getLong(), buffer.getLong()));
+            }
+            for (long i = readVarLong(buffer); i > 0; i--) {
+                byte[] code = new byte[3];
+                buffer.get(code);
+                currencyDictionary.add(new String(code, StandardCharsets.US_ASCII));
+            }
+            int[] routes = readRuns(buffer, size);
+            long[] micros = new long[size];
+            long previous = 0;
+            for (int i = 0; i < size; i++) {
+                long zigZag = readVarLong(buffer);
+                previous += (zigZag >>> 1) ^ -(zigZag & 1);
+                micros[i] = previous;
+            }
+            long[] cents = new long[size];
+            for (int i = 0; i < size; i++) {
+                cents[i] = readVarLong(buffer);
+            }
+            int[] currencies = readRuns(buffer, size);
+            byte[] anomalyBits = new byte[(size + 7) / 8];
+            buffer.get(anomalyBits);
+            for (int i = 0; i < size; i++) {
+                rows.add(new PriceSnapshot(null, routeDictionary.get(routes[i]), BigDecimal.valueOf(cents[i], 2),
+                        currencyDictionary.get(currencies[i]),
+                        Instant.EPOCH.plus(micros[i], ChronoUnit.MICROS).atOffset(ZoneOffset.UTC),
+                        (anomalyBits[i / 8] & (1 << (i % 8))) != 0));
+            }
+        }
+        assertFalse(buffer.hasRemaining());
+        return rows;
+    }
+
+    private static int[] readRuns(ByteBuffer buffer, int size) {
+        int[] values = new int[size];
+        int position = 0;
+        for (long runs = readVarLong(buffer); runs > 0; runs--) {
+            int value = (int) readVarLong(buffer);
+            int length = (int) readVarLong(buffer);
+            Arrays.fill(values, position, position + length, value);
+            position += length;
+        }
+        assertEquals(size, position);
+        return values;
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+    }
+
+    private static List<PriceSnapshot> history(int routes, int perRoute, long seed) {
+        Random random = new Random(seed);
+        List<PriceSnapshot> rows = new ArrayList<>();
+        for (int r = 0; r < routes; r++) {
+            UUID routeId = UUID.randomUUID();
+            for (int i = 0; i < perRoute; i++) {
+                rows.add(new PriceSnapshot(null, routeId, BigDecimal.valueOf(5_000 + random.nextInt(50_000), 2),
+                        r % 3 == 0 ? "USD" : "EUR", START.plusHours(6L * i).plusNanos(random.nextInt(1_000) * 1_000L),
+                        random.nextInt(20) == 0));
+            }
+        }
+        return rows;
+    }
+
+    private static byte[] encode(List<PriceSnapshot> rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PriceColumnarEncoder encoder = new PriceColumnarEncoder(out);
+        rows.forEach(encoder::add);
+        assertEquals(rows.size(), encoder.finish());
+        return out.toByteArray();
+    }
+
+    @Test
+    void encode_roundTripsAcrossBlocks() {
+        List<PriceSnapshot> rows = history(7, 1_500, 42);
+
+        List<PriceSnapshot> decoded = decode(encode(rows));
+
+        assertEquals(rows.size(), decoded.size());
+        for (int i = 0; i < rows.size(); i++) {
+            PriceSnapshot expected = rows.get(i);
+            PriceSnapshot actual = decoded.get(i);
+            assertEquals(expected.routeId(), actual.routeId());
+            assertEquals(expected.price(), actual.price());
+            assertEquals(expected.currency(), actual.currency());
+            assertEquals(expected.retrievedAt().toInstant(), actual.retrievedAt().toInstant());
+            assertEquals(expected.isAnomaly(), actual.isAnomaly());
+        }
+    }
+
+    @Test
+    void encode_emptyStream_writesOnlyHeaderAndTerminator() {
+        assertArrayEquals(new byte[]{'F', 'P', 'X', '1', 0}, encode(List.of()));
+    }
+
+    @Test
+    void encode_isAFractionOfTheJsonSize() {
+        List<PriceSnapshot> rows = history(10, 2_000, 7);
+        // {"id":"<uuid>","price":123.45,"currency":"EUR","retrievedAt":"2026-01-01T00:00:00.123456Z","anomaly":false}
+        long jsonBytes = rows.size() * 110L;
+
+        assertTrue(encode(rows).length * 10L < jsonBytes, "columnar export should be under a tenth of the JSON size");
+    }
+
+    @Test
+    void encode_withSubCentPrice_throwsException() {
+        PriceColumnarEncoder encoder = new PriceColumnarEncoder(new ByteArrayOutputStream());
+        PriceSnapshot snapshot = new PriceSnapshot(null, UUID.randomUUID(), new BigDecimal("1.005"), "EUR", START, false);
+
+        assertThrows(ArithmeticException.class, () -> encoder.add(snapshot));
+    }
+}
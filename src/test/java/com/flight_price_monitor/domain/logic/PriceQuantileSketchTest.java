@@ -0,0 +1,110 @@
+package com.flight_price_monitor.domain.logic;
+
+import com.flight_price_monitor.domain.model.PriceQuantileSketch;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PriceQuantileSketchTest {
+
+    private static final double[] QUANTILES = {0.0, 0.1, 0.25, 0.5, 0.75, 0.9, 1.0};
+
+    private static List<BigDecimal> randomPrices(long seed, int size) {
+        Random random = new Random(seed);
+        return IntStream.range(0, size)
+                .mapToObj(i -> BigDecimal.valueOf(2_000 + random.nextInt(200_000), 2))
+                .toList();
+    }
+
+    private static void assertWithinRelativeAccuracy(List<BigDecimal> prices, PriceQuantileSketch sketch) {
+        List<BigDecimal> sorted = prices.stream().sorted().toList();
+        for (double q : QUANTILES) {
+            double expected = sorted.get((int) Math.floor(q * (sorted.size() - 1))).doubleValue();
+            double actual = sketch.quantile(q).doubleValue();
+            // rounding the estimate to cents may add up to half a cent on top of the relative error
+            assertEquals(expected, actual, expected * PriceQuantileSketch.RELATIVE_ACCURACY + 0.005, "q=" + q);
+        }
+    }
+
+    @Test
+    void quantile_withRandomPrices_staysWithinRelativeAccuracy() {
+        List<BigDecimal> prices = randomPrices(42, 10_000);
+
+        PriceQuantileSketch sketch = PriceQuantileSketch.of(prices);
+
+        assertEquals(prices.size(), sketch.count());
+        assertWithinRelativeAccuracy(prices, sketch);
+    }
+
+    @Test
+    void quantile_withSinglePrice_returnsThatPriceApproximately() {
+        PriceQuantileSketch sketch = PriceQuantileSketch.of(List.of(new BigDecimal("199.99")));
+
+        assertEquals(199.99, sketch.quantile(0.5).doubleValue(), 199.99 * PriceQuantileSketch.RELATIVE_ACCURACY);
+        assertEquals(sketch.quantile(0.0), sketch.quantile(1.0));
+    }
+
+    @Test
+    void merge_matchesSketchOfAllPrices() {
+        List<BigDecimal> first = randomPrices(1, 3_000);
+        List<BigDecimal> second = randomPrices(2, 5_000);
+
+        PriceQuantileSketch merged = PriceQuantileSketch.of(first);
+        merged.merge(PriceQuantileSketch.of(second));
+
+        PriceQuantileSketch combined = PriceQuantileSketch.of(Stream.concat(first.stream(), second.stream()).toList());
+        assertEquals(combined.count(), merged.count());
+        assertArrayEquals(combined.toBytes(), merged.toBytes());
+    }
+
+    @Test
+    void toBytes_roundTripsAndStaysCompact() {
+        List<BigDecimal> prices = randomPrices(7, 50_000);
+        PriceQuantileSketch sketch = PriceQuantileSketch.of(prices);
+
+        byte[] bytes = sketch.toBytes();
+        PriceQuantileSketch restored = PriceQuantileSketch.fromBytes(bytes);
+
+        assertTrue(bytes.length < 2 * PriceQuantileSketch.MAX_BINS, "serialized size was " + bytes.length);
+        assertEquals(sketch.count(), restored.count());
+        for (double q : QUANTILES) {
+            assertEquals(sketch.quantile(q), restored.quantile(q));
+        }
+    }
+
+    @Test
+    void add_withExtremeRange_keepsBinCountBoundedAndUpperQuantilesAccurate() {
+        PriceQuantileSketch sketch = new PriceQuantileSketch();
+        sketch.add(new BigDecimal("0.01"));
+        sketch.add(new BigDecimal("99999999.99"));
+        sketch.add(new BigDecimal("99999999.99"));
+
+        assertEquals(3, sketch.count());
+        assertEquals(99999999.99, sketch.quantile(1.0).doubleValue(), 99999999.99 * PriceQuantileSketch.RELATIVE_ACCURACY);
+        assertTrue(sketch.toBytes().length < 3 * PriceQuantileSketch.MAX_BINS);
+    }
+
+    @Test
+    void add_withNonPositivePrice_throwsException() {
+        PriceQuantileSketch sketch = new PriceQuantileSketch();
+
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(BigDecimal.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(new BigDecimal("-1.00")));
+    }
+
+    @Test
+    void quantile_onEmptySketch_throwsException() {
+        assertThrows(IllegalStateException.class, () -> new PriceQuantileSketch().quantile(0.5));
+    }
+
+    @Test
+    void fromBytes_withUnknownVersion_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> PriceQuantileSketch.fromBytes(new byte[]{9, 0, 0}));
+    }
+}
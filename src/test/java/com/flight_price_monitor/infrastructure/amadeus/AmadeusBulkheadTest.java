@@ -0,0 +1,35 @@
+package com.flight_price_monitor.infrastructure.amadeus;
+
+import com.flight_price_monitor.common.exception.AmadeusUnavailableException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmadeusBulkheadTest {
+
+    @Test
+    void limit_beyondMaxConcurrentCalls_rejectsWithoutSubscribing() {
+        AmadeusBulkhead bulkhead = new AmadeusBulkhead(new AmadeusBulkheadProperties(1));
+        Sinks.One<String> pending = Sinks.one();
+
+        bulkhead.limit(pending.asMono()).subscribe();
+
+        assertThrows(AmadeusUnavailableException.class,
+                () -> bulkhead.limit(Mono.fromCallable(() -> fail("must not be called"))).block());
+        assertEquals(1, bulkhead.rejectedCount());
+    }
+
+    @Test
+    void limit_releasesPermitWhenCallCompletesOrFails() {
+        AmadeusBulkhead bulkhead = new AmadeusBulkhead(new AmadeusBulkheadProperties(1));
+
+        assertEquals("ok", bulkhead.limit(Mono.just("ok")).block());
+        assertThrows(IllegalStateException.class,
+                () -> bulkhead.limit(Mono.error(new IllegalStateException("boom"))).block());
+
+        assertEquals(1, bulkhead.availablePermits());
+        assertEquals(0, bulkhead.rejectedCount());
+    }
+}
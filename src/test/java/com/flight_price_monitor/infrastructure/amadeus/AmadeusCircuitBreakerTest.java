@@ -0,0 +1,131 @@
+package com.flight_price_monitor.infrastructure.amadeus;
+
+import com.flight_price_monitor.common.exception.AmadeusApiException;
+import com.flight_price_monitor.common.exception.AmadeusUnavailableException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmadeusCircuitBreakerTest {
+
+    private final AtomicLong nanos = new AtomicLong(0);
+
+    private AmadeusCircuitBreaker buildBreaker(int windowSize, int minimumCalls, int halfOpenCalls) {
+        return new AmadeusCircuitBreaker(new AmadeusCircuitBreakerProperties(
+                0.5, windowSize, minimumCalls, Duration.ofSeconds(30), halfOpenCalls), nanos::get);
+    }
+
+    private void advanceSeconds(long seconds) {
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    private void fail(AmadeusCircuitBreaker breaker, int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.onFailure();
+        }
+    }
+
+    private void succeed(AmadeusCircuitBreaker breaker, int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.onSuccess();
+        }
+    }
+
+    @Test
+    void failures_belowMinimumCalls_keepCircuitClosed() {
+        AmadeusCircuitBreaker breaker = buildBreaker(10, 5, 1);
+
+        fail(breaker, 4);
+
+        assertEquals(AmadeusCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void failureRateAtThreshold_opensCircuitAndRejectsCalls() {
+        AmadeusCircuitBreaker breaker = buildBreaker(10, 4, 1);
+
+        succeed(breaker, 2);
+        fail(breaker, 2);
+
+        assertEquals(AmadeusCircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(1, breaker.rejectedCount());
+        assertEquals(1, breaker.transitionCount());
+    }
+
+    @Test
+    void slidingWindow_ratesOnlyRecentCalls() {
+        AmadeusCircuitBreaker breaker = buildBreaker(4, 4, 1);
+
+        succeed(breaker, 8);
+        fail(breaker, 2);
+
+        assertEquals(AmadeusCircuitBreaker.State.OPEN, breaker.state(), "2 of the last 4 calls failed");
+    }
+
+    @Test
+    void openDurationElapsed_halfOpenTrialsSucceed_closesCircuit() {
+        AmadeusCircuitBreaker breaker = buildBreaker(2, 2, 2);
+        fail(breaker, 2);
+
+        advanceSeconds(30);
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission(), "only the configured trial calls may pass while half-open");
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(AmadeusCircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(3, breaker.transitionCount());
+    }
+
+    @Test
+    void halfOpenTrialFails_reopensCircuit() {
+        AmadeusCircuitBreaker breaker = buildBreaker(2, 2, 1);
+        fail(breaker, 2);
+        advanceSeconds(30);
+
+        fail(breaker, 1);
+
+        assertEquals(AmadeusCircuitBreaker.State.OPEN, breaker.state());
+        advanceSeconds(29);
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void protect_clientErrorsAreNotFailures() {
+        AmadeusCircuitBreaker breaker = buildBreaker(2, 2, 1);
+        Mono<String> notFound = Mono.error(new AmadeusApiException("No flights found for given criteria", 404));
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(AmadeusApiException.class, () -> breaker.protect(notFound).block());
+        }
+
+        assertEquals(AmadeusCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void protect_openCircuit_doesNotSubscribeToCall() {
+        AmadeusCircuitBreaker breaker = buildBreaker(2, 2, 1);
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> serverError = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(new AmadeusApiException("Fetching offer error", 503));
+        });
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(AmadeusApiException.class, () -> breaker.protect(serverError).block());
+        }
+        assertThrows(AmadeusUnavailableException.class, () -> breaker.protect(serverError).block());
+
+        assertEquals(2, calls.get());
+    }
+}
@@ -1,6 +1,8 @@
 package com.flight_price_monitor.infrastructure.amadeus;
 
 import com.flight_price_monitor.common.exception.AmadeusApiException;
+import com.flight_price_monitor.common.exception.AmadeusUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import okhttp3.mockwebserver.MockResponse;
@@ -15,6 +17,7 @@ import reactor.netty.http.client.HttpClient;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.concurrent.TimeUnit;
 
@@ -48,11 +51,13 @@ class AmadeusClientTest {
             }
             """;
     private MockWebServer mockWebServer;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() throws IOException {
         mockWebServer = new MockWebServer();
         mockWebServer.start();
+        meterRegistry = new SimpleMeterRegistry();
     }
 
     @AfterEach
@@ -64,6 +69,15 @@ class AmadeusClientTest {
     }
 
     private AmadeusClient buildClient(int readTimeoutSeconds) {
+        return buildClient(readTimeoutSeconds, Duration.ZERO);
+    }
+
+    private AmadeusClient buildClient(int readTimeoutSeconds, Duration cacheTtl) {
+        return buildClient(readTimeoutSeconds, cacheTtl, new AmadeusCircuitBreaker(
+                new AmadeusCircuitBreakerProperties(0.5, 10, 5, Duration.ofMinutes(1), 1)));
+    }
+
+    private AmadeusClient buildClient(int readTimeoutSeconds, Duration cacheTtl, AmadeusCircuitBreaker circuitBreaker) {
         String baseUrl = mockWebServer.url("").toString();
         if (baseUrl.endsWith("/")) {
             baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
@@ -79,8 +93,13 @@ class AmadeusClientTest {
                 .build();
 
         AmadeusProperties props = new AmadeusProperties("test-key", "test-secret", baseUrl);
-        OAuthTokenProvider tokenProvider = new OAuthTokenProvider(webClient, props);
-        return new AmadeusClient(props, webClient, tokenProvider);
+        OAuthTokenProvider tokenProvider = new OAuthTokenProvider(webClient, props, meterRegistry);
+        AmadeusRateLimiter rateLimiter = new AmadeusRateLimiter(
+                new AmadeusRateLimitProperties(100, 100, 1, 0.5, 0.05, 2));
+        AmadeusResponseCache responseCache = new AmadeusResponseCache(
+                new AmadeusResponseCacheProperties(cacheTtl, Duration.ofMinutes(1)), meterRegistry);
+        return new AmadeusClient(props, webClient, tokenProvider, rateLimiter, responseCache, circuitBreaker,
+                new AmadeusBulkhead(new AmadeusBulkheadProperties(4)), meterRegistry);
     }
 
     private MockResponse jsonResponse(String body) {
@@ -90,12 +109,12 @@ class AmadeusClientTest {
     }
 
     @Test
-    void getLowestPrice_validResponse_returnsFlightPrice() throws InterruptedException {
+    void fetchLowestPrice_validResponse_returnsFlightPrice() throws InterruptedException {
         mockWebServer.enqueue(jsonResponse(TOKEN_RESPONSE));
         mockWebServer.enqueue(jsonResponse(VALID_FLIGHT_OFFERS));
 
         FlightPrice result = buildClient(30)
-                .getLowestPrice("KRK", "BAH", LocalDate.of(2026, 6, 1));
+                .fetchLowestPrice("KRK", "BAH", LocalDate.of(2026, 6, 1)).block();
 
         assertNotNull(result);
         assertEquals(new BigDecimal("275.50"), result.price());
@@ -107,19 +126,55 @@ class AmadeusClientTest {
                 "Authorization: Bearer header should be present");
         assertTrue(flightReq.getPath().contains("originLocationCode=KRK"));
         assertTrue(flightReq.getPath().contains("destinationLocationCode=BAH"));
+        assertEquals(1, meterRegistry.get("amadeus.requests").tag("status", "200").timer().count());
+        assertEquals(1, meterRegistry.get("amadeus.token.refresh").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void fetchLowestPrice_validResponse_emitsFlightPrice() {
+        mockWebServer.enqueue(jsonResponse(TOKEN_RESPONSE));
+        mockWebServer.enqueue(jsonResponse(VALID_FLIGHT_OFFERS));
+
+        FlightPrice result = buildClient(30)
+                .fetchLowestPrice("KRK", "BAH", LocalDate.of(2026, 6, 1))
+                .block();
+
+        assertNotNull(result);
+        assertEquals(new BigDecimal("275.50"), result.price());
+        assertEquals("EUR", result.currency());
+    }
+
+    @Test
+    void fetchLowestPrice_isLazyUntilSubscribed() {
+        buildClient(30).fetchLowestPrice("KRK", "BAH", LocalDate.of(2026, 6, 1));
+
+        assertEquals(0, mockWebServer.getRequestCount(), "no request should be sent before subscription");
+    }
+
+    @Test
+    void fetchLowestPrice_repeatedQueryWithinTtl_servedFromCache() {
+        mockWebServer.enqueue(jsonResponse(TOKEN_RESPONSE));
+        mockWebServer.enqueue(jsonResponse(VALID_FLIGHT_OFFERS));
+        AmadeusClient client = buildClient(30, Duration.ofMinutes(5));
+
+        FlightPrice first = client.fetchLowestPrice("KRK", "BAH", LocalDate.of(2026, 6, 1)).block();
+        FlightPrice second = client.fetchLowestPrice("KRK", "BAH", LocalDate.of(2026, 6, 1)).block();
+
+        assertEquals(first, second);
+        assertEquals(2, mockWebServer.getRequestCount(), "second query should not reach Amadeus");
     }
 
     @Test
-    void getLowestPrice_emptyData_throwsAmadeusApiException() {
+    void fetchLowestPrice_emptyData_throwsAmadeusApiException() {
         mockWebServer.enqueue(jsonResponse(TOKEN_RESPONSE));
         mockWebServer.enqueue(jsonResponse(EMPTY_FLIGHT_OFFERS));
 
         assertThrows(AmadeusApiException.class,
-                () -> buildClient(30).getLowestPrice("KRK", "BAH", LocalDate.of(2026, 6, 1)));
+                () -> buildClient(30).fetchLowestPrice("KRK", "BAH", LocalDate.of(2026, 6, 1)).block());
     }
 
     @Test
-    void getLowestPrice_serverError_throwsAmadeusApiException() {
+    void fetchLowestPrice_serverError_throwsAmadeusApiException() {
         mockWebServer.enqueue(jsonResponse(TOKEN_RESPONSE));
         mockWebServer.enqueue(new MockResponse()
                 .setResponseCode(500)
@@ -127,17 +182,55 @@ class AmadeusClientTest {
                 .setBody("{\"error\": \"Internal Server Error\"}"));
 
         assertThrows(AmadeusApiException.class,
-                () -> buildClient(30).getLowestPrice("KRK", "BAH", LocalDate.of(2026, 6, 1)));
+                () -> buildClient(30).fetchLowestPrice("KRK", "BAH", LocalDate.of(2026, 6, 1)).block());
+        assertEquals(1, meterRegistry.get("amadeus.requests").tag("status", "500").timer().count());
     }
 
     @Test
-    void getLowestPrice_timeout_throwsException() {
+    void fetchLowestPrice_throttledThenAccepted_retriesAndReturnsFlightPrice() {
+        mockWebServer.enqueue(jsonResponse(TOKEN_RESPONSE));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(429)
+                .addHeader("Content-Type", "application/json")
+                .setBody("{\"errors\": [{\"status\": 429, \"title\": \"Too many requests\"}]}"));
+        mockWebServer.enqueue(jsonResponse(VALID_FLIGHT_OFFERS));
+
+        FlightPrice result = buildClient(30)
+                .fetchLowestPrice("KRK", "BAH", LocalDate.of(2026, 6, 1)).block();
+
+        assertEquals(new BigDecimal("275.50"), result.price());
+        assertEquals(3, mockWebServer.getRequestCount(), "throttled request should be retried once");
+    }
+
+    @Test
+    void fetchLowestPrice_timeout_throwsException() {
         mockWebServer.enqueue(jsonResponse(TOKEN_RESPONSE));
         mockWebServer.enqueue(new MockResponse()
                 .setBodyDelay(10, TimeUnit.SECONDS)
                 .setBody(VALID_FLIGHT_OFFERS));
 
         assertThrows(Exception.class,
-                () -> buildClient(2).getLowestPrice("KRK", "BAH", LocalDate.of(2026, 6, 1)));
+                () -> buildClient(2).fetchLowestPrice("KRK", "BAH", LocalDate.of(2026, 6, 1)).block());
+    }
+
+    @Test
+    void fetchLowestPrice_circuitOpenAfterServerErrors_failsFastWithoutCallingAmadeus() {
+        AmadeusCircuitBreaker circuitBreaker = new AmadeusCircuitBreaker(
+                new AmadeusCircuitBreakerProperties(0.5, 2, 2, Duration.ofMinutes(1), 1));
+        AmadeusClient client = buildClient(30, Duration.ZERO, circuitBreaker);
+        mockWebServer.enqueue(jsonResponse(TOKEN_RESPONSE));
+        for (int i = 0; i < 2; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(500).setBody("{}"));
+        }
+
+        assertThrows(AmadeusApiException.class,
+                () -> client.fetchLowestPrice("KRK", "BAH", LocalDate.of(2026, 6, 1)).block());
+        assertThrows(AmadeusApiException.class,
+                () -> client.fetchLowestPrice("KRK", "BAH", LocalDate.of(2026, 6, 1)).block());
+        assertThrows(AmadeusUnavailableException.class,
+                () -> client.fetchLowestPrice("KRK", "BAH", LocalDate.of(2026, 6, 1)).block());
+
+        assertEquals(AmadeusCircuitBreaker.State.OPEN, circuitBreaker.state());
+        assertEquals(3, mockWebServer.getRequestCount(), "open circuit should not reach Amadeus");
     }
 }
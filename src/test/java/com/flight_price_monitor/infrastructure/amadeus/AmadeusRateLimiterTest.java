@@ -0,0 +1,121 @@
+package com.flight_price_monitor.infrastructure.amadeus;
+
+import com.flight_price_monitor.common.exception.AmadeusApiException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmadeusRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong(0);
+
+    private AmadeusRateLimiter buildLimiter(double permitsPerSecond, int burst) {
+        return new AmadeusRateLimiter(
+                new AmadeusRateLimitProperties(permitsPerSecond, burst, 1, 0.5, 0.5, 2), nanos::get);
+    }
+
+    private void advanceMillis(long millis) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    void reserve_withinBurst_doesNotWait() {
+        AmadeusRateLimiter limiter = buildLimiter(10, 3);
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+    }
+
+    @Test
+    void reserve_beyondBurst_waitsForRefill() {
+        AmadeusRateLimiter limiter = buildLimiter(10, 1);
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limiter.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), limiter.reserve());
+    }
+
+    @Test
+    void reserve_afterIdlePeriod_refillsUpToBurstOnly() {
+        AmadeusRateLimiter limiter = buildLimiter(10, 2);
+        limiter.reserve();
+        limiter.reserve();
+
+        advanceMillis(10_000);
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertTrue(limiter.reserve() > 0, "bucket must not hold more than the burst size");
+    }
+
+    @Test
+    void onThrottled_halvesRateOncePerCooldown() {
+        AmadeusRateLimiter limiter = buildLimiter(8, 1);
+
+        limiter.onThrottled();
+        limiter.onThrottled();
+        assertEquals(4, limiter.currentPermitsPerSecond(), 1e-9);
+
+        advanceMillis(1_001);
+        limiter.onThrottled();
+        assertEquals(2, limiter.currentPermitsPerSecond(), 1e-9);
+    }
+
+    @Test
+    void onThrottled_neverDropsBelowMinimum() {
+        AmadeusRateLimiter limiter = buildLimiter(2, 1);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.onThrottled();
+            advanceMillis(1_001);
+        }
+
+        assertEquals(1, limiter.currentPermitsPerSecond(), 1e-9);
+    }
+
+    @Test
+    void onResponse_recoversAdditivelyUpToConfiguredRate() {
+        AmadeusRateLimiter limiter = buildLimiter(4, 1);
+        limiter.onThrottled();
+
+        limiter.onResponse();
+        assertEquals(2.5, limiter.currentPermitsPerSecond(), 1e-9);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onResponse();
+        }
+        assertEquals(4, limiter.currentPermitsPerSecond(), 1e-9);
+    }
+
+    @Test
+    void throttle_retriesThrottledRequestAndLowersRate() {
+        AmadeusRateLimiter limiter = new AmadeusRateLimiter(new AmadeusRateLimitProperties(100, 100, 1, 0.5, 0, 2));
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> request = Mono.defer(() -> attempts.incrementAndGet() == 1
+                ? Mono.error(new AmadeusApiException("Too many requests", 429))
+                : Mono.just("ok"));
+
+        assertEquals("ok", limiter.throttle(request).block());
+        assertEquals(2, attempts.get());
+        assertEquals(50, limiter.currentPermitsPerSecond(), 1e-9);
+    }
+
+    @Test
+    void throttle_doesNotRetryOtherErrors() {
+        AmadeusRateLimiter limiter = new AmadeusRateLimiter(new AmadeusRateLimitProperties(100, 100, 1, 0.5, 0, 2));
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> request = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new AmadeusApiException("Server error", 500));
+        });
+
+        assertThrows(AmadeusApiException.class, () -> limiter.throttle(request).block());
+        assertEquals(1, attempts.get());
+    }
+}
@@ -0,0 +1,119 @@
+package com.flight_price_monitor.infrastructure.amadeus;
+
+import com.flight_price_monitor.common.exception.AmadeusApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmadeusResponseCacheTest {
+
+    private static final FlightQuery QUERY = new FlightQuery("KRK", "BAH", LocalDate.of(2026, 6, 1));
+    private static final FlightPrice PRICE = new FlightPrice(new BigDecimal("275.50"), "EUR");
+
+    private final AtomicLong nanos = new AtomicLong(0);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AmadeusResponseCache buildCache(Duration ttl) {
+        return new AmadeusResponseCache(new AmadeusResponseCacheProperties(ttl, Duration.ofMinutes(1)), meterRegistry,
+                nanos::get);
+    }
+
+    private Mono<FlightPrice> countingLoad(Mono<FlightPrice> result) {
+        return Mono.defer(() -> {
+            loads.incrementAndGet();
+            return result;
+        });
+    }
+
+    @Test
+    void get_concurrentCallers_shareSingleUpstreamCall() {
+        AmadeusResponseCache cache = buildCache(Duration.ofMinutes(5));
+        Sinks.One<FlightPrice> upstream = Sinks.one();
+        AtomicReference<FlightPrice> first = new AtomicReference<>();
+        AtomicReference<FlightPrice> second = new AtomicReference<>();
+
+        cache.get(QUERY, () -> countingLoad(upstream.asMono())).subscribe(first::set);
+        cache.get(QUERY, () -> countingLoad(upstream.asMono())).subscribe(second::set);
+        upstream.tryEmitValue(PRICE);
+
+        assertEquals(1, loads.get());
+        assertEquals(PRICE, first.get());
+        assertEquals(PRICE, second.get());
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, meterRegistry.get(AmadeusResponseCache.MISSES_COUNTER).counter().count());
+        assertEquals(1, meterRegistry.get(AmadeusResponseCache.HITS_COUNTER).counter().count());
+    }
+
+    @Test
+    void get_withinTtl_servesFromMemory() {
+        AmadeusResponseCache cache = buildCache(Duration.ofMinutes(5));
+
+        cache.get(QUERY, () -> countingLoad(Mono.just(PRICE))).block();
+        nanos.addAndGet(Duration.ofMinutes(4).toNanos());
+        FlightPrice cached = cache.get(QUERY, () -> countingLoad(Mono.just(PRICE))).block();
+
+        assertEquals(PRICE, cached);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_afterTtl_loadsAgain() {
+        AmadeusResponseCache cache = buildCache(Duration.ofMinutes(5));
+
+        cache.get(QUERY, () -> countingLoad(Mono.just(PRICE))).block();
+        nanos.addAndGet(Duration.ofMinutes(5).toNanos());
+        cache.get(QUERY, () -> countingLoad(Mono.just(PRICE))).block();
+
+        assertEquals(2, loads.get());
+        assertEquals(2, cache.missCount());
+    }
+
+    @Test
+    void get_differentQueries_areCachedSeparately() {
+        AmadeusResponseCache cache = buildCache(Duration.ofMinutes(5));
+        FlightQuery otherDate = new FlightQuery("KRK", "BAH", LocalDate.of(2026, 6, 2));
+
+        cache.get(QUERY, () -> countingLoad(Mono.just(PRICE))).block();
+        cache.get(otherDate, () -> countingLoad(Mono.just(PRICE))).block();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_failedLoad_isNotCached() {
+        AmadeusResponseCache cache = buildCache(Duration.ofMinutes(5));
+
+        assertThrows(AmadeusApiException.class, () -> cache.get(QUERY,
+                () -> countingLoad(Mono.error(new AmadeusApiException("Fetching offer error", 500)))).block());
+        FlightPrice retried = cache.get(QUERY, () -> countingLoad(Mono.just(PRICE))).block();
+
+        assertEquals(PRICE, retried);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictExpired_dropsOnlyExpiredEntries() {
+        AmadeusResponseCache cache = buildCache(Duration.ofMinutes(5));
+
+        cache.get(QUERY, () -> countingLoad(Mono.just(PRICE))).block();
+        nanos.addAndGet(Duration.ofMinutes(3).toNanos());
+        cache.get(new FlightQuery("WAW", "LHR", LocalDate.of(2026, 7, 1)), () -> countingLoad(Mono.just(PRICE))).block();
+        nanos.addAndGet(Duration.ofMinutes(3).toNanos());
+
+        cache.evictExpired();
+
+        assertEquals(1, cache.size());
+    }
+}
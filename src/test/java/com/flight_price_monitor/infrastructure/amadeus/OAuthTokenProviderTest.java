@@ -13,6 +13,7 @@ import org.springframework.web.reactive.function.client.WebClient;
 
 import com.flight_price_monitor.common.exception.AmadeusApiException;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.netty.channel.ChannelOption;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -22,11 +23,13 @@ import reactor.netty.http.client.HttpClient;
 class OAuthTokenProviderTest {
 
     private MockWebServer mockWebServer;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() throws IOException {
         mockWebServer = new MockWebServer();
         mockWebServer.start();
+        meterRegistry = new SimpleMeterRegistry();
     }
 
     @AfterEach
@@ -51,7 +54,7 @@ class OAuthTokenProviderTest {
 
         AmadeusProperties props = new AmadeusProperties("key", "secret", baseUrl);
         mockWebServer.enqueue(tokenResponse(expiresIn));
-        return new OAuthTokenProvider(webClient, props);
+        return new OAuthTokenProvider(webClient, props, meterRegistry);
     }
 
     private MockResponse tokenResponse(int expiresIn) {
@@ -67,10 +70,10 @@ class OAuthTokenProviderTest {
     }
 
     @Test
-    void getToken_firstCall_fetchesNewToken() throws InterruptedException {
+    void token_firstCall_fetchesNewToken() throws InterruptedException {
         OAuthTokenProvider provider = buildProvider(1799);
 
-        String token = provider.getToken();
+        String token = provider.token().block();
 
         assertEquals("my-access-token", token);
 
@@ -85,12 +88,12 @@ class OAuthTokenProviderTest {
     }
 
     @Test
-    void getToken_cachedToken_returnsCachedWithoutFetching() throws InterruptedException {
+    void token_cachedToken_returnsCachedWithoutFetching() throws InterruptedException {
         OAuthTokenProvider provider = buildProvider(1799);
 
-        String first  = provider.getToken();
-        String second = provider.getToken();
-        String third  = provider.getToken();
+        String first  = provider.token().block();
+        String second = provider.token().block();
+        String third  = provider.token().block();
 
         assertEquals("my-access-token", first);
         assertEquals("my-access-token", second);
@@ -101,16 +104,16 @@ class OAuthTokenProviderTest {
     }
 
     @Test
-    void getToken_expiredToken_fetchesNewToken() throws InterruptedException {
+    void token_expiredToken_fetchesNewToken() throws InterruptedException {
         OAuthTokenProvider provider = buildProvider(61);
 
-        String first = provider.getToken();
+        String first = provider.token().block();
         assertEquals("my-access-token", first);
 
         Thread.sleep(1_200);
 
         mockWebServer.enqueue(tokenResponse(1799));
-        String second = provider.getToken();
+        String second = provider.token().block();
 
         assertEquals("my-access-token", second);
         assertEquals(2, mockWebServer.getRequestCount(),
@@ -118,7 +121,7 @@ class OAuthTokenProviderTest {
     }
 
     @Test
-    void getToken_serverError_throwsAmadeusApiException() {
+    void token_serverError_throwsAmadeusApiException() {
         String baseUrl = mockWebServer.url("").toString();
         if (baseUrl.endsWith("/")) {
             baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
@@ -136,8 +139,9 @@ class OAuthTokenProviderTest {
                 .addHeader("Content-Type", "application/json")
                 .setBody("{\"error\": \"Unauthorized\"}"));
 
-        OAuthTokenProvider provider = new OAuthTokenProvider(webClient, props);
+        OAuthTokenProvider provider = new OAuthTokenProvider(webClient, props, meterRegistry);
 
-        assertThrows(AmadeusApiException.class, provider::getToken);
+        assertThrows(AmadeusApiException.class, () -> provider.token().block());
+        assertEquals(1, meterRegistry.get("amadeus.token.refresh").tag("outcome", "error").timer().count());
     }
 }